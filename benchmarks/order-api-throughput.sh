@@ -0,0 +1,44 @@
+#!/bin/bash
+# So sánh throughput của GET /api/order/v1 giữa platform threads (mặc định)
+# và profile "vthreads" (virtual threads + DB concurrency limiter).
+#
+# Yêu cầu: jar đã build (mvn -DskipTests package), MySQL đang chạy với dữ liệu,
+#          biến môi trường SPRING_DATASOURCE_* giống khi chạy app, và `hey`
+#          (https://github.com/rakyll/hey) trong PATH.
+#
+# Dùng: ./benchmarks/order-api-throughput.sh [concurrency] [duration]
+#   vd: ./benchmarks/order-api-throughput.sh 800 30s
+
+set -euo pipefail
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30s}
+PORT=${PORT:-18080}
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+URL="http://localhost:${PORT}/api/order/v1?perPage=20&sort=createdAt,desc"
+
+run_mode() {
+    local name=$1 profiles=$2
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --search.index.rebuild-on-startup=false > "target/bench-${name}.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" RETURN
+
+    until curl -sf -o /dev/null "$URL"; do sleep 1; done
+
+    # warm-up JIT + pool
+    hey -z 10s -c 50 "$URL" > /dev/null
+
+    echo "=== ${name} (c=${CONCURRENCY}, ${DURATION}) ==="
+    hey -z "$DURATION" -c "$CONCURRENCY" "$URL" \
+        | grep -E "Requests/sec|Average|99% in|Status code distribution|\[[0-9]{3}\]"
+
+    curl -s "http://localhost:${PORT}/actuator/metrics/oms.vthreads.pinned" 2>/dev/null \
+        | grep -o '"statistic":"COUNT","value":[0-9.]*' || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform-threads "${BASE_PROFILES:-default}"
+run_mode virtual-threads "${BASE_PROFILES:-default},vthreads"
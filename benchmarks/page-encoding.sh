@@ -0,0 +1,65 @@
+#!/bin/bash
+# So sánh encoding của một trang 100 đơn GET /api/order/v1 (và /api/users):
+#   json     Accept: application/json                 (Slice mặc định của Jackson: content + pageable + sort)
+#   compact  Accept: application/vnd.oms.page+json     (fields một lần, mỗi dòng là mảng)
+#   cbor     Accept: application/cbor                  (envelope compact, binary)
+#
+# In ra số byte trên wire mỗi trang (thô và sau gzip) và CPU của process app cho mỗi request.
+# Trong lúc đo, trang order được giữ trong coalescer (ttl dài) nên mọi request dùng lại cùng kết quả query:
+# chênh lệch CPU giữa các dòng là chênh lệch serialize, phần HTTP / filter như nhau. /api/users không qua
+# coalescer nên CPU gồm cả query, vẫn so sánh được giữa các dòng của cùng endpoint.
+#
+# Yêu cầu: jar đã build (mvn -DskipTests package), MySQL đang chạy với >= 100 đơn,
+#          biến môi trường SPRING_DATASOURCE_* giống khi chạy app. Chỉ chạy trên Linux (/proc).
+#
+# Dùng: ./benchmarks/page-encoding.sh [requests]
+#   vd: ./benchmarks/page-encoding.sh 5000
+
+set -euo pipefail
+
+REQUESTS=${1:-3000}
+PORT=${PORT:-18080}
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+BASE="http://localhost:${PORT}"
+TICKS=$(getconf CLK_TCK)
+
+java -jar "$JAR" --server.port="$PORT" --search.index.rebuild-on-startup=false \
+    --app.coalescing.ttl-ms=600000 > target/bench-page-encoding.log 2>&1 &
+PID=$!
+trap "kill $PID 2>/dev/null || true" EXIT
+until curl -sf -o /dev/null "${BASE}/api/order/v1"; do sleep 1; done
+
+# utime + stime của process app, đơn vị tick
+cpu_ticks() {
+    awk '{print $14 + $15}' "/proc/${PID}/stat"
+}
+
+# N request trên một connection keep-alive
+burst() {
+    local accept=$1 url=$2 n=$3
+    local config
+    config=$(mktemp)
+    for _ in $(seq 1 "$n"); do echo "url = \"${url}\""; echo "output = /dev/null"; done > "$config"
+    curl -s -H "Accept: ${accept}" --config "$config"
+    rm -f "$config"
+}
+
+report() {
+    local name=$1 accept=$2 url=$3
+    local raw gz before after
+    raw=$(curl -s -H "Accept: ${accept}" "$url" | wc -c)
+    gz=$(curl -s -H "Accept: ${accept}" "$url" | gzip -c | wc -c)
+    burst "$accept" "$url" 500 # warm-up JIT
+    before=$(cpu_ticks)
+    burst "$accept" "$url" "$REQUESTS"
+    after=$(cpu_ticks)
+    awk -v name="$name" -v raw="$raw" -v gz="$gz" -v ticks=$((after - before)) -v hz="$TICKS" -v n="$REQUESTS" \
+        'BEGIN { printf "  %-8s %8d B  %7d B gzip  %8.1f us CPU/request\n", name, raw, gz, ticks * 1e6 / hz / n }'
+}
+
+for endpoint in "/api/order/v1?perPage=100&sort=createdAt,desc" "/api/users?perPage=100"; do
+    echo "=== GET ${endpoint} (${REQUESTS} requests) ==="
+    report json "application/json" "${BASE}${endpoint}"
+    report compact "application/vnd.oms.page+json" "${BASE}${endpoint}"
+    report cbor "application/cbor" "${BASE}${endpoint}"
+done
@@ -0,0 +1,74 @@
+#!/bin/bash
+# Đo thời gian khởi động lạnh: từ lúc chạy JVM tới response 200 đầu tiên của GET /api/order/v1
+# (thời điểm instance mới thực sự nhận được traffic khi autoscale).
+#
+# So sánh:
+#   baseline      java -jar app.jar, profile docker (như image cũ)
+#   fast-startup  jar giải nén + CDS archive + Spring AOT + lazy init, profile docker,fast-startup (như image mới)
+#
+# Yêu cầu: jar build bằng `mvn -Pfast-startup -DskipTests package` (có code AOT), MySQL đang chạy
+#          với schema đã migrate, biến môi trường SPRING_DATASOURCE_* giống khi chạy app.
+#
+# Dùng: ./benchmarks/startup-time.sh [runs]
+#   vd: ./benchmarks/startup-time.sh 5
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+URL="http://localhost:${PORT}/api/order/v1?perPage=20&sort=createdAt,desc"
+WORK=target/startup-bench
+APP_ARGS=(--server.port="$PORT" --search.index.rebuild-on-startup=false)
+
+# giống Dockerfile: giải nén jar rồi chạy huấn luyện một lần để ghi CDS archive
+prepare_fast_startup() {
+    rm -rf "$WORK"
+    java -Djarmode=tools -jar "$JAR" extract --destination "$WORK" --application-filename app.jar > /dev/null
+    java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar "$WORK/app.jar" --spring.profiles.active=docker,fast-startup "${APP_ARGS[@]}" \
+        > target/startup-training.log 2>&1
+}
+
+# in ra số ms tới response 200 đầu tiên
+measure() {
+    local name=$1; shift
+    local log="target/startup-${name}.log"
+    local start end pid
+    start=$(date +%s%N)
+    "$@" "${APP_ARGS[@]}" > "$log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "${name}: app exited before serving, see ${log}" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+report() {
+    local name=$1; shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(measure "$name" "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+    printf '%-13s runs=%s  min=%sms  median=%sms  max=%sms  [%s]\n' "$name" "$RUNS" \
+        "$(echo "$sorted" | head -n 1)" \
+        "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "$sorted" | tail -n 1)" \
+        "${samples[*]}"
+}
+
+prepare_fast_startup
+
+echo "=== time to first 200 from GET /api/order/v1 ==="
+report baseline java -jar "$JAR" --spring.profiles.active=docker
+report fast-startup java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true \
+    -jar "$WORK/app.jar" --spring.profiles.active=docker,fast-startup
@@ -5,23 +5,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 @Service
 public class BaseService {
-    protected Sort createSort(String sortParam) {
-        if (sortParam == null || sortParam.isEmpty()) {
-            return Sort.by(Sort.Order.asc("id"));
-        }
-        String[] parts = sortParam.split(",");
-        String field = parts[0];
-        String sortDirection = (parts.length > 1) ? parts[1] : "asc";
-
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            return Sort.by(Sort.Order.desc(field));
-        } else {
-            return Sort.by(Sort.Order.asc(field));
-        }
+    protected Sort createSort(List<Sort.Order> orders) {
+        return orders.isEmpty() ? Sort.by(Sort.Order.asc("id")) : Sort.by(orders);
     }
 
     protected String getParam(Map<String, String[]> params, String key) {
@@ -33,8 +24,22 @@ public class BaseService {
 
 
     protected Sort sortParam(Map<String, String[]> parameters) {
-        String sortParam = parameters.containsKey("sort") ? parameters.get("sort")[0] : null;
-        return createSort(sortParam);
+        return createSort(ParameterFilter.filterSort(parameters));
+    }
+
+    /**
+     * Tổ hợp filter của request, không kèm giá trị: vd. "keyword,status,createdAt[gte] sort=createdAt".
+     * Gắn vào scope SQL hiện tại để slow query log biết query chậm sinh ra từ tổ hợp filter nào.
+     */
+    protected String filterShape(Map<String, String[]> parameters) {
+        TreeSet<String> parts = new TreeSet<>();
+        if (ParameterFilter.filtertKeyword(parameters) != null) parts.add("keyword");
+        parts.addAll(ParameterFilter.filterSimple(parameters).keySet());
+        ParameterFilter.filterComplex(parameters).forEach((field, ops) ->
+                ops.keySet().forEach(op -> parts.add(field + "[" + op + "]")));
+        String sort = getParam(parameters, "sort");
+        String shape = String.join(",", parts);
+        return sort == null || sort.isEmpty() ? shape : shape + " sort=" + sort;
     }
 
     protected <T> Specification<T> specificationParam(Map<String, String[]> parameters, String[] searchKey) {
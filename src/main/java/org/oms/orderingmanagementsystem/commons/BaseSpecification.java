@@ -7,6 +7,7 @@ import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.oms.orderingmanagementsystem.commons.money.Money;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,6 +51,17 @@ public class BaseSpecification {
     }
 
 
+    /** LIKE '%kw%' trên các field (OR), dùng để verify ứng viên từ trigram index */
+    public static <T> Specification<T> contains(String keyword, String... fields) {
+        return (root, query, cb) -> {
+            String like = "%" + keyword.trim().toLowerCase() + "%";
+            Predicate[] preds = Arrays.stream(fields)
+                    .map(field -> cb.like(cb.lower(resolvePath(root, field).as(String.class)), like))
+                    .toArray(Predicate[]::new);
+            return cb.or(preds);
+        };
+    }
+
     /** So khớp == cho các cặp phẳng (tự ép kiểu theo Java type của field) */
     public static <T> Specification<T> whereSpec(Map<String, String> filter) {
         return (root, query, cb) -> {
@@ -166,6 +179,14 @@ public class BaseSpecification {
         try { return from.join(name, JoinType.LEFT); } catch (IllegalArgumentException ex) { return null; }
     }
 
+    /** id IN (...) từ search index; tập rỗng nghĩa là không có kết quả nào khớp */
+    public static <T> Specification<T> idIn(String path, Collection<Long> ids) {
+        return (root, query, cb) -> {
+            if (ids.isEmpty()) return cb.disjunction();
+            return resolvePath2(root, path).in(ids);
+        };
+    }
+
     public static <T> Specification<T> equalLong(String path, Long value) {
         return (root, query, cb) -> {
             if (value == null || path == null || path.isBlank()) return cb.conjunction();
@@ -293,6 +314,7 @@ public class BaseSpecification {
         if (target == Double.class || target == double.class) return Double.valueOf(s);
         if (target == Float.class  || target == float.class)  return Float.valueOf(s);
         if (target == BigDecimal.class)                       return new BigDecimal(s);
+        if (target == Money.class)                            return Money.of(new BigDecimal(s));
 
         // Time
         if (target == LocalDate.class
@@ -1,13 +1,21 @@
 package org.oms.orderingmanagementsystem.commons;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrder;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrderItem;
 import org.oms.orderingmanagementsystem.entities.Order;
 import org.oms.orderingmanagementsystem.entities.OrderItem;
 import org.oms.orderingmanagementsystem.entities.Product;
 import org.oms.orderingmanagementsystem.entities.User;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 /**
  * FIXED: Removed multiple FETCH JOINs that cause Cartesian product multiplication
  *
@@ -28,7 +36,7 @@ public class OrderFetchSpecification {
      * Specifications don't work well with FETCH JOIN
      * Batch loading will handle lazy loading of user
      */
-    public static Specification<Order> joinUserFilter(String keyword) {
+    public static <T> Specification<T> joinUserFilter(String keyword) {
         return (root, query, cb) -> {
             // Use regular JOIN for filtering only (not FETCH)
             // Batch loading will handle user loading
@@ -37,7 +45,7 @@ public class OrderFetchSpecification {
                 return cb.conjunction();
             }
 
-            Join<Order, User> userJoin = root.join("user", JoinType.LEFT);
+            Join<T, User> userJoin = root.join("user", JoinType.LEFT);
             String like = "%" + keyword.toLowerCase() + "%";
 
             return cb.or(
@@ -48,36 +56,121 @@ public class OrderFetchSpecification {
 
 
     /**
-     * FIXED: Removed DISTINCT and multiple FETCH JOINs
-     * Only filter by product name using regular JOIN, don't fetch items/products
-     * Items will be loaded in batch separately
+     * Fallback khi search index chưa sẵn sàng: đơn có item mà tên product chứa productName.
+     * EXISTS trên order_item thay vì JOIN items + product rồi DISTINCT cả trang.
      */
     public static Specification<Order> joinProductByName(String productName) {
         return (root, query, cb) -> {
-            // Removed: query.distinct(true) - forces in-memory dedup
-            // Removed: root.fetch("items", JoinType.LEFT).fetch("product", JoinType.LEFT)
+            if (productName == null || productName.isBlank()) {
+                return cb.conjunction();
+            }
+            var sub = query.subquery(Long.class);
+            var item = sub.from(OrderItem.class);
+            Join<OrderItem, Product> product = item.join("product", JoinType.INNER);
+            sub.select(item.get("id"))
+                    .where(cb.equal(item.get("order"), root),
+                            cb.like(cb.lower(product.get("name")), "%" + productName.toLowerCase() + "%"));
+            return cb.exists(sub);
+        };
+    }
 
+    /** Như joinProductByName cho archive (order_item_archive chỉ giữ product_id, không map quan hệ). */
+    public static Specification<ArchivedOrder> archivedProductByName(String productName) {
+        return (root, query, cb) -> {
             if (productName == null || productName.isBlank()) {
                 return cb.conjunction();
             }
+            var sub = query.subquery(Long.class);
+            var item = sub.from(ArchivedOrderItem.class);
+            var product = sub.from(Product.class);
+            sub.select(item.get("id"))
+                    .where(archivedItemOf(cb, item, root),
+                            cb.equal(product.get("id"), item.get("productId")),
+                            cb.like(cb.lower(product.get("name")), "%" + productName.toLowerCase() + "%"));
+            return cb.exists(sub);
+        };
+    }
 
-            // Use regular JOINs (not FETCH) for filtering only
-            Join<Order, OrderItem> itemJoin = root.join("items", JoinType.INNER);
-            Join<OrderItem, Product> productJoin = itemJoin.join("product", JoinType.INNER);
+    /**
+     * Filter by user ids resolved from the search index.
+     * Compares the order's own user_id column, so no join to users is needed.
+     */
+    public static <T> Specification<T> userIn(Collection<Long> userIds) {
+        return (root, query, cb) -> {
+            if (userIds.isEmpty()) {
+                return cb.disjunction();
+            }
+            return root.get("user").get("id").in(userIds);
+        };
+    }
 
-            // Ensure order id is distinct (avoid duplicate order ids in result set)
-            // Note: This distinct applies to ID only, not full rows
-            if (!query.getSelection().isCompoundSelection()) {
-                query.distinct(true);
+    /**
+     * Filter by product ids resolved from the search index.
+     * Uses EXISTS on order_item instead of JOIN + DISTINCT over the whole page.
+     */
+    public static Specification<Order> productIn(Collection<Long> productIds) {
+        return (root, query, cb) -> {
+            if (productIds.isEmpty()) {
+                return cb.disjunction();
             }
+            var sub = query.subquery(Long.class);
+            var item = sub.from(OrderItem.class);
+            sub.select(item.get("id"))
+                    .where(cb.equal(item.get("order"), root),
+                            item.get("product").get("id").in(productIds));
+            return cb.exists(sub);
+        };
+    }
 
-            return cb.like(
-                    cb.lower(productJoin.get("name")),
-                    "%" + productName.toLowerCase() + "%"
-            );
+    /** Như productIn cho archive: EXISTS trên order_item_archive, chỉ trong partition của đơn. */
+    public static Specification<ArchivedOrder> archivedProductIn(Collection<Long> productIds) {
+        return (root, query, cb) -> {
+            if (productIds.isEmpty()) {
+                return cb.disjunction();
+            }
+            var sub = query.subquery(Long.class);
+            var item = sub.from(ArchivedOrderItem.class);
+            sub.select(item.get("id"))
+                    .where(archivedItemOf(cb, item, root), item.get("productId").in(productIds));
+            return cb.exists(sub);
         };
     }
 
-}
+    private static Predicate archivedItemOf(CriteriaBuilder cb, Root<ArchivedOrderItem> item, Root<ArchivedOrder> order) {
+        return cb.and(cb.equal(item.get("orderId"), order.get("id")),
+                cb.equal(item.get("orderCreatedAt"), order.get("createdAt")));
+    }
 
+    /** Đơn của một user: so sánh trên cột user_id, không join users. */
+    public static <T> Specification<T> userIs(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
 
+    /**
+     * Keyset cho thứ tự created_at DESC, id DESC: các dòng đứng SAU (createdAt, id) của cursor.
+     * created_at NULL xếp cuối khi DESC (như MySQL) nên luôn đứng sau cursor có thời điểm.
+     */
+    public static <T> Specification<T> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> {
+            if (createdAt == null) {
+                return cb.and(cb.isNull(root.get("createdAt")), cb.lessThan(root.get("id"), id));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)),
+                    cb.isNull(root.get("createdAt")));
+        };
+    }
+
+    /** Keyset cho thứ tự updated_at ASC, id ASC: các dòng đứng SAU (updatedAt, id) của token. */
+    public static Specification<Order> changedAfter(LocalDateTime updatedAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("updatedAt"), updatedAt),
+                cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /** Đơn thay đổi trước mốc (loại các ghi mới, có thể còn transaction cùng thời điểm chưa commit). */
+    public static Specification<Order> changedBefore(LocalDateTime bound) {
+        return (root, query, cb) -> cb.lessThan(root.get("updatedAt"), bound);
+    }
+}
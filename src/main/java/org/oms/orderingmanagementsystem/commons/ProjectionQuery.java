@@ -0,0 +1,135 @@
+package org.oms.orderingmanagementsystem.commons;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Chạy Specification có sẵn (BaseSpecification, OrderFetchSpecification...) nhưng SELECT thẳng
+ * các cột cần cho response (Criteria select(cb.tuple(...)) -> Tuple) thay vì load entity:
+ * - không có entity trong persistence context, không snapshot dirty-checking, không proxy lazy
+ * - không đọc cột thừa (vd. users.password, users.address khi chỉ render danh sách)
+ *
+ * Mỗi cột chọn ra phải có alias; mapper đọc Tuple theo alias.
+ */
+public final class ProjectionQuery {
+
+    @FunctionalInterface
+    public interface Projection<T> {
+        List<Selection<?>> select(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb);
+    }
+
+    private ProjectionQuery() {
+    }
+
+    public static <T, R> Page<R> page(EntityManager em, Class<T> type, Specification<T> spec, Pageable pageable,
+                                      Projection<T> projection, Function<Tuple, R> mapper) {
+        List<R> content = rows(em, type, spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(),
+                projection).stream().map(row -> mapper.apply(row.tuple())).toList();
+        // trang cuối / trang chưa đầy thì không cần COUNT
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(em, type, spec));
+    }
+
+    /**
+     * Một dòng kết quả kèm giá trị của từng Sort.Order, để trộn kết quả từ nhiều bảng
+     * theo đúng Sort của request (xem sortKeyComparator).
+     */
+    public record Row(Tuple tuple, List<Object> sortKeys) {
+    }
+
+    public static <T> List<Row> rows(EntityManager em, Class<T> type, Specification<T> spec, Sort sort,
+                                     long offset, int limit, Projection<T> projection) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(projection.select(root, query, cb));
+        List<Order> orders = QueryUtils.toOrders(sort, root, cb);
+        // vị trí giá trị sort trong tuple: path đã được select (Hibernate dùng lại cùng object
+        // cho root.get(x)) thì đọc luôn cột đó, chưa có thì select thêm
+        int[] sortIndexes = new int[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            Selection<?> expression = orders.get(i).getExpression();
+            int index = selections.indexOf(expression);
+            if (index < 0) {
+                index = selections.size();
+                selections.add(expression);
+            }
+            sortIndexes[i] = index;
+        }
+        query.select(cb.tuple(selections)).orderBy(orders);
+
+        return em.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> {
+                    List<Object> keys = new ArrayList<>(sortIndexes.length);
+                    for (int index : sortIndexes) keys.add(tuple.get(index));
+                    return new Row(tuple, keys);
+                })
+                .toList();
+    }
+
+    /** So sánh Row theo Sort (null đứng đầu khi ASC, như MySQL). */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<Row> sortKeyComparator(Sort sort) {
+        Comparator<Row> result = (a, b) -> 0;
+        int i = 0;
+        for (Sort.Order order : sort) {
+            int index = i++;
+            Comparator<Row> byKey = Comparator.comparing(
+                    row -> (Comparable) row.sortKeys().get(index),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            result = result.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+        }
+        return result;
+    }
+
+    public static <T> long count(EntityManager em, Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    /** Dùng lại join mà Specification đã tạo (vd. joinUserFilter) thay vì join thêm lần nữa. */
+    @SuppressWarnings("unchecked")
+    public static <X, Y> Join<X, Y> join(From<?, X> from, String attribute) {
+        for (Join<X, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute)) {
+                return (Join<X, Y>) join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+}
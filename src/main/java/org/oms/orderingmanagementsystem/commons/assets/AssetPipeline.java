@@ -0,0 +1,321 @@
+package org.oms.orderingmanagementsystem.commons.assets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bước build cho static asset, chạy trên target/classes sau khi copy resources
+ * (exec-maven-plugin, phase process-classes):
+ *
+ * 1. Tìm asset thực sự dùng: link @{/...} trong template + url(...) trong các file CSS đó (font, ảnh).
+ * 2. Ghi bản fingerprint vào static/_assets/ (cùng cấu trúc thư mục, tên file kèm hash nội dung),
+ *    url(...) trong CSS được viết lại sang tên đã fingerprint. Nội dung đổi = URL đổi,
+ *    nên runtime cache được "immutable" một năm.
+ * 3. Ghi sẵn bản .gz (và .br nếu máy build có lệnh brotli) cho file dạng text.
+ * 4. Ghi manifest.properties: path gốc -> path fingerprint (AssetUrlEncodingFilter đọc để đổi link).
+ * 5. Xoá file không dùng trong các thư mục prune (bản không minify, source map, plugin thừa).
+ *
+ * Chỉ sửa thư mục output của build, không động vào src/main/resources.
+ *
+ * Tham số: staticDir templatesDir pruneDir...
+ */
+public final class AssetPipeline {
+
+    public static final String ASSETS_DIR = "_assets";
+    public static final String MANIFEST = "manifest.properties";
+
+    private static final Pattern TEMPLATE_LINK = Pattern.compile("@\\{(/[^}?#(]+)");
+    private static final Pattern CSS_URL = Pattern.compile("url\\(\\s*(['\"]?)([^'\")]+)\\1\\s*\\)");
+    private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "eot", "ttf", "otf", "json", "html", "txt");
+    // bỏ bản nén nếu không nhỏ hơn ít nhất 10%
+    private static final double MIN_RATIO = 0.9;
+
+    private final Path staticDir;
+    private final Path outputDir;
+    private final String brotli;
+    private final Map<Path, String> fingerprinted = new TreeMap<>();
+    private long originalBytes;
+    private long gzipBytes;
+    private long brotliBytes;
+
+    private AssetPipeline(Path staticDir, String brotli) {
+        this.staticDir = staticDir;
+        this.outputDir = staticDir.resolve(ASSETS_DIR);
+        this.brotli = brotli;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: AssetPipeline <staticDir> <templatesDir> [pruneDir...]");
+        }
+        Path staticDir = Path.of(args[0]).toAbsolutePath().normalize();
+        Path templatesDir = Path.of(args[1]).toAbsolutePath().normalize();
+        AssetPipeline pipeline = new AssetPipeline(staticDir, brotliCommand());
+        pipeline.run(templatesDir, Stream.of(args).skip(2).map(staticDir::resolve).toList());
+    }
+
+    private void run(Path templatesDir, List<Path> pruneDirs) throws IOException {
+        deleteRecursively(outputDir);
+        Set<Path> used = new LinkedHashSet<>();
+        for (Path root : templateLinks(templatesDir)) {
+            collect(root, used);
+        }
+        for (Path file : used) {
+            fingerprint(file);
+        }
+        writeManifest();
+
+        int pruned = 0;
+        for (Path dir : pruneDirs) {
+            pruned += prune(dir, used);
+        }
+        System.out.printf("[assets] %d files fingerprinted into %s, %d unused files pruned%n",
+                fingerprinted.size(), staticDir.relativize(outputDir), pruned);
+        System.out.printf("[assets] compressible bytes: %d original, %d gzip, %s%n", originalBytes, gzipBytes,
+                brotli == null ? "brotli skipped (no 'brotli' command on PATH)" : brotliBytes + " brotli");
+    }
+
+    /** Các file static được template tham chiếu bằng @{/...}. */
+    private List<Path> templateLinks(Path templatesDir) throws IOException {
+        List<Path> links = new ArrayList<>();
+        try (Stream<Path> templates = Files.walk(templatesDir)) {
+            for (Path template : templates.filter(p -> p.toString().endsWith(".html")).toList()) {
+                Matcher m = TEMPLATE_LINK.matcher(Files.readString(template));
+                while (m.find()) {
+                    Path file = staticDir.resolve(m.group(1).substring(1)).normalize();
+                    if (file.startsWith(staticDir) && Files.isRegularFile(file)) {
+                        links.add(file);
+                    }
+                }
+            }
+        }
+        return links;
+    }
+
+    /** file + mọi file nó tham chiếu qua url(...) (CSS -> font / ảnh / CSS khác). */
+    private void collect(Path file, Set<Path> used) throws IOException {
+        if (!used.add(file) || !file.toString().endsWith(".css")) {
+            return;
+        }
+        Matcher m = CSS_URL.matcher(Files.readString(file, StandardCharsets.UTF_8));
+        while (m.find()) {
+            Path referenced = resolveReference(file, m.group(2));
+            if (referenced != null) {
+                collect(referenced, used);
+            }
+        }
+    }
+
+    private Path resolveReference(Path from, String reference) {
+        String ref = reference.trim();
+        if (ref.isEmpty() || ref.startsWith("data:") || ref.startsWith("#") || ref.contains("://") || ref.startsWith("//")) {
+            return null;
+        }
+        String path = stripSuffix(ref);
+        Path file = path.startsWith("/")
+                ? staticDir.resolve(path.substring(1)).normalize()
+                : from.getParent().resolve(path).normalize();
+        return file.startsWith(staticDir) && Files.isRegularFile(file) ? file : null;
+    }
+
+    /** Ghi bản fingerprint của file (và của các file nó tham chiếu trước), trả về tên file mới. */
+    private String fingerprint(Path file) throws IOException {
+        String done = fingerprinted.get(file);
+        if (done != null) {
+            return done;
+        }
+        byte[] content = Files.readAllBytes(file);
+        if (file.toString().endsWith(".css")) {
+            content = rewriteCss(file, new String(content, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        }
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String hashed = dot < 0
+                ? name + "." + hash(content)
+                : name.substring(0, dot) + "." + hash(content) + name.substring(dot);
+
+        Path target = outputDir.resolve(staticDir.relativize(file)).resolveSibling(hashed);
+        Files.createDirectories(target.getParent());
+        Files.write(target, content);
+        compress(target, content, extension(name));
+        fingerprinted.put(file, hashed);
+        return hashed;
+    }
+
+    private String rewriteCss(Path file, String css) throws IOException {
+        Matcher m = CSS_URL.matcher(css);
+        StringBuilder out = new StringBuilder(css.length());
+        while (m.find()) {
+            String reference = m.group(2).trim();
+            Path referenced = resolveReference(file, reference);
+            String replacement = m.group();
+            if (referenced != null) {
+                String path = stripSuffix(reference);
+                String hashed = fingerprint(referenced);
+                int slash = path.lastIndexOf('/');
+                String rewritten = (slash < 0 ? "" : path.substring(0, slash + 1)) + hashed
+                        + reference.substring(path.length());
+                if (path.startsWith("/")) {
+                    rewritten = "/" + ASSETS_DIR + rewritten;
+                }
+                replacement = "url(" + m.group(1) + rewritten + m.group(1) + ")";
+            }
+            m.appendReplacement(out, Matcher.quoteReplacement(replacement));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    private void compress(Path target, byte[] content, String extension) throws IOException {
+        if (!COMPRESSIBLE.contains(extension)) {
+            return;
+        }
+        originalBytes += content.length;
+
+        Path gz = target.resolveSibling(target.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+        gzipBytes += keepIfSmaller(gz, content.length);
+
+        if (brotli != null) {
+            Path br = target.resolveSibling(target.getFileName() + ".br");
+            run(brotli, "--best", "--force", "--output=" + br, target.toString());
+            brotliBytes += keepIfSmaller(br, content.length);
+        }
+    }
+
+    private static long keepIfSmaller(Path compressed, long originalSize) throws IOException {
+        if (!Files.exists(compressed)) {
+            return originalSize;
+        }
+        long size = Files.size(compressed);
+        if (size > originalSize * MIN_RATIO) {
+            Files.delete(compressed);
+            return originalSize;
+        }
+        return size;
+    }
+
+    private void writeManifest() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# generated by AssetPipeline: original path = fingerprinted path");
+        for (Map.Entry<Path, String> e : fingerprinted.entrySet()) {
+            String original = "/" + staticDir.relativize(e.getKey()).toString().replace('\\', '/');
+            String parent = original.substring(0, original.lastIndexOf('/') + 1);
+            lines.add(original + "=/" + ASSETS_DIR + parent + e.getValue());
+        }
+        Files.write(outputDir.resolve(MANIFEST), lines, StandardCharsets.UTF_8);
+    }
+
+    private int prune(Path dir, Set<Path> used) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int pruned = 0;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (!used.contains(file)) {
+                    Files.delete(file);
+                    pruned++;
+                }
+            }
+        }
+        // thư mục rỗng sau khi xoá, sâu nhất trước
+        try (Stream<Path> dirs = Files.walk(dir)) {
+            for (Path d : dirs.filter(Files::isDirectory).sorted(Comparator.reverseOrder()).toList()) {
+                try (Stream<Path> children = Files.list(d)) {
+                    if (children.findAny().isEmpty()) Files.delete(d);
+                }
+            }
+        }
+        return pruned;
+    }
+
+    private static String brotliCommand() {
+        String command = System.getProperty("assets.brotli", "brotli");
+        try {
+            return run(command, "--version") == 0 ? command : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int run(String... command) throws IOException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("Timed out: " + String.join(" ", command));
+            }
+            return process.exitValue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted: " + String.join(" ", command), e);
+        }
+    }
+
+    private static String stripSuffix(String reference) {
+        int end = reference.length();
+        int query = reference.indexOf('?');
+        int fragment = reference.indexOf('#');
+        if (query >= 0) end = query;
+        if (fragment >= 0) end = Math.min(end, fragment);
+        return reference.substring(0, end);
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.oms.orderingmanagementsystem.commons.assets;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Asset đã fingerprint bởi AssetPipeline (static/_assets + manifest), nằm trên filesystem
+ * để StaticAssetFilter gửi bằng sendfile (zero-copy).
+ *
+ * Chạy từ target/classes thì dùng thẳng thư mục đó; chạy từ jar thì copy các file trong
+ * manifest (kèm .gz / .br) ra extractDir lúc khởi động. Không có manifest (build bỏ qua
+ * bước asset) thì store rỗng, trang dùng link gốc như cũ.
+ */
+@Slf4j
+public class AssetStore {
+
+    private static final String LOCATION = "static/" + AssetPipeline.ASSETS_DIR + "/";
+    private static final String[] VARIANTS = {"", ".gz", ".br"};
+
+    private final Path root;
+    private final Map<String, String> manifest;
+
+    private AssetStore(Path root, Map<String, String> manifest) {
+        this.root = root;
+        this.manifest = manifest;
+    }
+
+    public static AssetStore load(Path extractDir) throws IOException {
+        Resource resource = new ClassPathResource(LOCATION + AssetPipeline.MANIFEST);
+        if (!resource.exists()) {
+            log.info("No static asset manifest on classpath, serving original asset paths");
+            return new AssetStore(null, Map.of());
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        }
+        Map<String, String> manifest = properties.stringPropertyNames().stream()
+                .collect(Collectors.toUnmodifiableMap(k -> k, properties::getProperty));
+
+        if (resource.isFile()) {
+            return new AssetStore(resource.getFile().toPath().getParent(), manifest);
+        }
+        Path root = extractDir.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        for (String fingerprinted : manifest.values()) {
+            String relative = fingerprinted.substring(("/" + AssetPipeline.ASSETS_DIR + "/").length());
+            for (String variant : VARIANTS) {
+                Resource source = new ClassPathResource(LOCATION + relative + variant);
+                if (!source.exists()) continue;
+                Path target = root.resolve(relative + variant);
+                Files.createDirectories(target.getParent());
+                try (InputStream in = source.getInputStream()) {
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        log.info("Extracted {} fingerprinted static assets to {}", manifest.size(), root);
+        return new AssetStore(root, manifest);
+    }
+
+    /** Path fingerprint của một asset gốc ("/adminlte/..."), null nếu không có trong manifest. */
+    public String fingerprinted(String path) {
+        return manifest.get(path);
+    }
+
+    /**
+     * File của path tương đối dưới /_assets/, null nếu không tồn tại hoặc ra ngoài thư mục asset.
+     */
+    public Path resolve(String relative) {
+        if (root == null) {
+            return null;
+        }
+        Path file = root.resolve(relative).normalize();
+        return file.startsWith(root) && Files.isRegularFile(file) ? file : null;
+    }
+
+    public boolean isEmpty() {
+        return manifest.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package org.oms.orderingmanagementsystem.commons.coalescing;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: các lời gọi đồng thời cùng key dùng chung MỘT lần tính (query) và kết quả của nó,
+ * thay vì mỗi caller chạy một bản. Lúc burst (promotion, hàng trăm dashboard mở cùng lúc) tải DB
+ * tỉ lệ với số query khác nhau chứ không phải số caller.
+ *
+ * - caller đầu tiên (leader) tự tính trên thread của nó; các caller sau chờ future của leader
+ * - kết quả còn dùng lại thêm ttl (micro-TTL, vài trăm ms) sau khi tính xong; Caffeine không cho
+ *   entry đang tính hết hạn, nên ttl chỉ tính từ lúc có kết quả
+ * - leader lỗi: các caller đang chờ nhận cùng exception, key bị bỏ ngay, lần gọi sau tính lại
+ *
+ * Giá trị trả về được chia sẻ giữa các caller: không được sửa sau khi trả ra.
+ * Số liệu: oms.coalescing{name, result=computed|joined|reused}.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final String name;
+    private final AsyncCache<K, V> inFlight;
+    private final MeterRegistry meterRegistry;
+
+    /** inFlight = null: tắt, mỗi lời gọi tự tính. */
+    public RequestCoalescer(String name, AsyncCache<K, V> inFlight, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.inFlight = inFlight;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        if (inFlight == null) {
+            return loader.get();
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> shared = inFlight.asMap().putIfAbsent(key, mine);
+        if (shared != null) {
+            count(shared.isDone() ? "reused" : "joined");
+            return await(shared);
+        }
+
+        count("computed");
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.asMap().remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V await(CompletableFuture<V> shared) {
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            // ném lại đúng exception của leader (vd. InvalidFilterException -> 400)
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("oms.coalescing", "name", name, "result", result).increment();
+    }
+}
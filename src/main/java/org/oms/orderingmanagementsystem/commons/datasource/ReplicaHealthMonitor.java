@@ -0,0 +1,95 @@
+package org.oms.orderingmanagementsystem.commons.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Kiểm tra định kỳ từng replica: còn kết nối được không và trễ bao nhiêu giây
+ * so với primary. Replica trễ quá max-lag-seconds bị loại khỏi vòng đọc cho tới
+ * lần kiểm tra sau, khi đó đọc sẽ quay về primary.
+ */
+@Slf4j
+public class ReplicaHealthMonitor implements AutoCloseable {
+
+    // connection lấy từ pool replica (connection-timeout-ms ngắn), câu lệnh kiểm tra cũng có hạn
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @Getter
+    private final List<ReplicaPool> replicas;
+    private final long maxLagSeconds;
+
+    public ReplicaHealthMonitor(List<ReplicaPool> replicas, long maxLagSeconds, MeterRegistry registry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        for (ReplicaPool replica : replicas) {
+            Gauge.builder("oms.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .tag("pool", replica.getName())
+                    .register(registry);
+            Gauge.builder("oms.datasource.replica.lag", replica, ReplicaPool::getLagSeconds)
+                    .tag("pool", replica.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "0",
+            fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+    public void check() {
+        for (ReplicaPool replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            boolean healthy;
+            try (Connection con = replica.getDataSource().getConnection()) {
+                long lag = con.isValid(VALIDATION_TIMEOUT_SECONDS) ? readLagSeconds(con) : -1;
+                replica.setLagSeconds(lag);
+                healthy = lag >= 0 && lag <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.setLagSeconds(-1);
+                healthy = false;
+            }
+            replica.setHealthy(healthy);
+            if (wasHealthy != healthy) {
+                log.warn("Replica {} is now {} (lag={}s)",
+                        replica.getName(), healthy ? "UP" : "DOWN", replica.getLagSeconds());
+            }
+        }
+    }
+
+    /**
+     * @return số giây trễ; 0 nếu server không phải replica (vd. hai DB độc lập khi test local);
+     *         -1 nếu replication đang dừng
+     */
+    private static long readLagSeconds(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+            try (ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+                return lagFrom(rs, "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // MySQL < 8.0.22
+                try (ResultSet rs = st.executeQuery("SHOW SLAVE STATUS")) {
+                    return lagFrom(rs, "Seconds_Behind_Master");
+                }
+            }
+        }
+    }
+
+    private static long lagFrom(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) return 0;
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? -1 : lag;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(r -> r.getDataSource().close());
+    }
+}
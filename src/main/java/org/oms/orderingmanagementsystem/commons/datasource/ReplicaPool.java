@@ -0,0 +1,23 @@
+package org.oms.orderingmanagementsystem.commons.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Một replica: pool kết nối riêng + trạng thái do ReplicaHealthMonitor cập nhật.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReplicaPool {
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    @Setter
+    private volatile boolean healthy;
+
+    // -1: chưa đo được
+    @Setter
+    private volatile long lagSeconds = -1;
+}
@@ -0,0 +1,80 @@
+package org.oms.orderingmanagementsystem.commons.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource cho transaction readOnly: round-robin trên các replica đang healthy
+ * (đủ mới theo max-lag), không còn replica nào thì quay về primary.
+ * Được gắn làm read-only target của LazyConnectionDataSourceProxy.
+ */
+public class ReplicaPoolDataSource extends AbstractDataSource {
+
+    private final List<ReplicaPool> replicas;
+    private final DataSource primary;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbackCounter;
+    private final List<Counter> replicaCounters;
+
+    public ReplicaPoolDataSource(List<ReplicaPool> replicas, DataSource primary, MeterRegistry registry) {
+        this.replicas = replicas;
+        this.primary = primary;
+        this.fallbackCounter = Counter.builder("oms.datasource.reads")
+                .description("Read-only connections handed out, by target pool")
+                .tag("pool", "primary-fallback")
+                .register(registry);
+        this.replicaCounters = replicas.stream()
+                .map(r -> Counter.builder("oms.datasource.reads")
+                        .description("Read-only connections handed out, by target pool")
+                        .tag("pool", r.getName())
+                        .register(registry))
+                .toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    /** Cùng cách chọn pool, credentials chuyển thẳng cho pool được chọn (Hikari tự báo nếu không hỗ trợ). */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            int idx = (start + i) % size;
+            ReplicaPool replica = replicas.get(idx);
+            if (!replica.isHealthy()) continue;
+            try {
+                Connection con = connector.open(replica.getDataSource());
+                replicaCounters.get(idx).increment();
+                return con;
+            } catch (SQLFeatureNotSupportedException e) {
+                // không phải lỗi của replica, không đánh dấu unhealthy
+                throw e;
+            } catch (SQLException e) {
+                // pool lỗi giữa hai lần health check: đánh dấu và thử replica khác
+                replica.setHealthy(false);
+            }
+        }
+        fallbackCounter.increment();
+        return connector.open(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,31 @@
+package org.oms.orderingmanagementsystem.commons.events;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener: Hibernate lấy bean này từ Spring container
+ * (SpringBeanContainer) nên inject được ApplicationEventPublisher.
+ * Gắn vào entity bằng @EntityListeners(EntityChangeListener.class).
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publisher.publishEvent(new EntityChangedEvent(entity, EntityChangedEvent.Action.UPSERT));
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publisher.publishEvent(new EntityChangedEvent(entity, EntityChangedEvent.Action.DELETE));
+    }
+}
@@ -0,0 +1,18 @@
+package org.oms.orderingmanagementsystem.commons.events;
+
+/**
+ * Phát ra mỗi khi một entity được thêm / sửa / xoá qua JPA.
+ * Các subsystem phụ (search index, cache...) lắng nghe event này
+ * bằng @TransactionalEventListener để chỉ cập nhật sau khi commit.
+ */
+public record EntityChangedEvent(Object entity, Action action) {
+
+    public enum Action {
+        UPSERT,
+        DELETE
+    }
+
+    public boolean is(Class<?> type) {
+        return type.isInstance(entity);
+    }
+}
@@ -0,0 +1,10 @@
+package org.oms.orderingmanagementsystem.commons.events;
+
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+
+/**
+ * Phát ra sau khi trạng thái đơn đổi bằng compare-and-set (UPDATE thẳng, không qua entity
+ * nên EntityChangeListener không thấy). version = version mới của đơn.
+ */
+public record OrderStatusChangedEvent(Long orderId, Long userId, OrderStatus from, OrderStatus to, long version) {
+}
@@ -0,0 +1,181 @@
+package org.oms.orderingmanagementsystem.commons.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel (kiểu timer của Linux kernel): LEVELS tầng x 64 slot, slot tầng L rộng 64^L tick.
+ * Đặt / dời / huỷ hạn của một key là O(1) (node nằm trong danh sách liên kết đôi của slot);
+ * advance chỉ đụng slot tầng 0 của từng tick đã qua, và mỗi 64^L tick mới hạ một slot tầng L xuống
+ * (cascade) - không bao giờ quét toàn bộ key.
+ *
+ * Key tới hạn chuyển sang danh sách pending, advance trả ra theo lô tối đa limit key; phần còn lại
+ * chờ lần gọi sau (key pending vẫn dời hạn được). Hạn vượt tầm wheel (64^LEVELS tick) nằm ở slot xa nhất
+ * và được đặt lại mỗi lần slot đó cascade.
+ *
+ * Không thread-safe: chủ sở hữu tự đồng bộ.
+ */
+public class TimingWheel<K> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int PENDING = LEVELS * SLOTS;
+
+    private static final class Node<K> {
+        final K key;
+        long deadline;
+        int slot;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    private final long tickMs;
+    private final Node<K>[] heads;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        this.tickMs = tickMs;
+        this.heads = (Node<K>[]) new Node[PENDING + 1];
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /** Đặt hạn của key (dời nếu đã có). Hạn đã qua thì key tới hạn ở lần advance kế tiếp. */
+    public void schedule(K key, long deadlineMs) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            unlink(node);
+        }
+        // làm tròn lên: không bao giờ tới hạn sớm hơn deadlineMs
+        node.deadline = Math.ceilDiv(deadlineMs, tickMs);
+        place(node);
+    }
+
+    /** Như schedule, nhưng bỏ qua nếu key đã có hạn muộn hơn (dữ liệu nạp lại không đè hoạt động mới hơn). */
+    public void scheduleIfLater(K key, long deadlineMs) {
+        Node<K> node = nodes.get(key);
+        if (node == null || node.deadline < Math.ceilDiv(deadlineMs, tickMs)) {
+            schedule(key, deadlineMs);
+        }
+    }
+
+    public boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Quay wheel tới nowMs và trả tối đa limit key đã tới hạn.
+     * Key trả ra đã bị gỡ khỏi wheel.
+     */
+    public List<K> advance(long nowMs, int limit) {
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            int slot = (int) (currentTick & MASK);
+            Node<K> node = detach(slot);
+            while (node != null) {
+                Node<K> next = node.next;
+                place(node);
+                node = next;
+            }
+        }
+
+        List<K> due = new ArrayList<>(Math.min(limit, nodes.size()));
+        while (due.size() < limit && heads[PENDING] != null) {
+            Node<K> node = heads[PENDING];
+            unlink(node);
+            nodes.remove(node.key);
+            due.add(node.key);
+        }
+        return due;
+    }
+
+    /** Tầng L >= 1: khi các tầng dưới vừa quay hết một vòng, hạ slot hiện tại của tầng L xuống. */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node<K> node = detach(level * SLOTS + (int) ((currentTick >>> shift) & MASK));
+            while (node != null) {
+                Node<K> next = node.next;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<K> node) {
+        long delta = node.deadline - currentTick;
+        if (delta <= 0) {
+            link(node, PENDING);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if (delta < 1L << (shift + BITS)) {
+                link(node, level * SLOTS + (int) ((node.deadline >>> shift) & MASK));
+                return;
+            }
+        }
+        // ngoài tầm: slot cascade muộn nhất của tầng trên cùng, tới đó đặt lại
+        int shift = BITS * (LEVELS - 1);
+        link(node, (LEVELS - 1) * SLOTS + (int) (((currentTick >>> shift) - 1) & MASK));
+    }
+
+    private void link(Node<K> node, int slot) {
+        node.slot = slot;
+        node.prev = null;
+        node.next = heads[slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        heads[slot] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /** Gỡ cả slot ra, trả node đầu (các node vẫn nối với nhau qua next). */
+    private Node<K> detach(int slot) {
+        Node<K> head = heads[slot];
+        heads[slot] = null;
+        return head;
+    }
+}
@@ -0,0 +1,149 @@
+package org.oms.orderingmanagementsystem.commons.governance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gom các tổ hợp filter mà client thực sự gửi (không kèm giá trị) và đề xuất index composite
+ * cho các tổ hợp chưa có index phù hợp.
+ *
+ * Thứ tự cột đề xuất theo quy tắc Equality - Sort - Range: cột so sánh bằng (eq / in) trước,
+ * rồi cột sort (để bỏ filesort), cuối cùng là MỘT cột range. LIKE '%..%' và ne không dùng
+ * được B-tree index nên không đưa vào đề xuất.
+ */
+public class IndexAdvisor {
+
+    private static final Set<String> EQUALITY = Set.of("eq", "in");
+    private static final Set<String> RANGE = Set.of("lt", "lte", "gt", "gte");
+
+    /** Một điều kiện đã resolve: path client gửi, toán tử, cột DB tương ứng. */
+    public record Condition(String path, String operator, IndexCatalog.ResolvedColumn column) {
+    }
+
+    public record FilterUsage(String entity, String filters, long requests, long unindexed) {
+    }
+
+    public record Recommendation(String entity, String table, List<String> columns, String ddl,
+                                 long requests, String example) {
+    }
+
+    private record Usage(Class<?> entity, String filters, List<Condition> conditions, List<Condition> sort,
+                         LongAdder requests, LongAdder unindexed) {
+    }
+
+    private final IndexCatalog catalog;
+    private final int maxCombinations;
+    private final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(IndexCatalog catalog, int maxCombinations) {
+        this.catalog = catalog;
+        this.maxCombinations = maxCombinations;
+    }
+
+    public static boolean isSargable(String operator) {
+        return EQUALITY.contains(operator) || RANGE.contains(operator);
+    }
+
+    public static boolean isEquality(String operator) {
+        return EQUALITY.contains(operator);
+    }
+
+    public void record(Class<?> entity, List<Condition> conditions, List<Condition> sort, boolean indexed) {
+        String filters = describe(conditions, sort);
+        String key = entity.getSimpleName() + "|" + filters;
+        Usage usage = usages.get(key);
+        if (usage == null) {
+            if (usages.size() >= maxCombinations) {
+                return;
+            }
+            usage = usages.computeIfAbsent(key, k -> new Usage(entity, filters, List.copyOf(conditions), List.copyOf(sort),
+                    new LongAdder(), new LongAdder()));
+        }
+        usage.requests().increment();
+        if (!indexed) {
+            usage.unindexed().increment();
+        }
+    }
+
+    public List<FilterUsage> usages() {
+        return usages.values().stream()
+                .map(u -> new FilterUsage(u.entity().getSimpleName(), u.filters(),
+                        u.requests().sum(), u.unindexed().sum()))
+                .sorted(Comparator.comparingLong(FilterUsage::requests).reversed())
+                .toList();
+    }
+
+    /** Đề xuất index, gộp các tổ hợp cho ra cùng một index, sắp theo số request. */
+    public List<Recommendation> recommendations() {
+        Map<String, Recommendation> merged = new LinkedHashMap<>();
+        for (Usage usage : usages.values()) {
+            if (usage.unindexed().sum() == 0) {
+                continue;
+            }
+            List<String> columns = columns(usage);
+            if (columns.isEmpty() || catalog.hasIndexPrefix(usage.entity(), columns)) {
+                continue;
+            }
+            String table = catalog.table(usage.entity());
+            String key = table + columns;
+            Recommendation existing = merged.get(key);
+            long requests = usage.unindexed().sum() + (existing == null ? 0 : existing.requests());
+            merged.put(key, new Recommendation(usage.entity().getSimpleName(), table, columns,
+                    ddl(table, columns), requests, existing == null ? usage.filters() : existing.example()));
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(Recommendation::requests).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        usages.clear();
+    }
+
+    private List<String> columns(Usage usage) {
+        List<String> equality = new ArrayList<>();
+        String range = null;
+        for (Condition condition : usage.conditions()) {
+            // chỉ cột của chính bảng này; path qua association thuộc bảng khác
+            if (condition.column().owner() != usage.entity()) continue;
+            String column = condition.column().column();
+            if (EQUALITY.contains(condition.operator())) {
+                if (!equality.contains(column)) equality.add(column);
+            } else if (RANGE.contains(condition.operator()) && range == null) {
+                range = column;
+            }
+        }
+        equality.sort(null);
+        List<String> columns = new ArrayList<>(equality);
+        for (Condition sort : usage.sort()) {
+            // sort qua association thì index của bảng này không giúp được các cột sort phía sau
+            if (sort.column().owner() != usage.entity()) break;
+            if (!columns.contains(sort.column().column())) columns.add(sort.column().column());
+        }
+        if (range != null && !columns.contains(range)) {
+            columns.add(range);
+        }
+        return columns;
+    }
+
+    private static String describe(List<Condition> conditions, List<Condition> sort) {
+        List<String> parts = new ArrayList<>();
+        conditions.forEach(c -> parts.add(c.path() + "[" + c.operator() + "]"));
+        parts.sort(null);
+        String filters = String.join(",", parts);
+        if (sort.isEmpty()) return filters;
+        String sorted = "sort=" + String.join(",", sort.stream().map(Condition::path).toList());
+        return filters.isEmpty() ? sorted : filters + " " + sorted;
+    }
+
+    private static String ddl(String table, List<String> columns) {
+        return "CREATE INDEX idx_" + table + "_" + String.join("_", columns)
+                + " ON " + table + " (" + String.join(", ", columns) + ") ALGORITHM=INPLACE LOCK=NONE";
+    }
+}
@@ -0,0 +1,34 @@
+package org.oms.orderingmanagementsystem.commons.governance;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/indexadvisor: các tổ hợp filter client đã gửi và index composite đề xuất
+ * (kèm DDL) cho các tổ hợp chưa có index. DELETE để xoá số liệu.
+ * Chỉ mở khi thêm "indexadvisor" vào management.endpoints.web.exposure.include.
+ */
+@Endpoint(id = "indexadvisor")
+@RequiredArgsConstructor
+public class IndexAdvisorEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public Map<String, Object> advice() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("recommendations", indexAdvisor.recommendations());
+        body.put("filters", indexAdvisor.usages());
+        return body;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        indexAdvisor.reset();
+    }
+}
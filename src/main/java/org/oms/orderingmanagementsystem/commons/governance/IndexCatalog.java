@@ -0,0 +1,214 @@
+package org.oms.orderingmanagementsystem.commons.governance;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bảng tra index theo entity, dựng từ metamodel lúc khởi động:
+ * - index khai báo trong @Table(indexes) (giữ nguyên thứ tự cột của index composite)
+ * - primary key, cột @Column(unique = true)
+ * - foreign key của @ManyToOne / @OneToOne (InnoDB tự tạo index cho FK)
+ *
+ * Một cột chỉ được coi là "có index" khi nó là cột ĐẦU của ít nhất một index.
+ */
+public class IndexCatalog {
+
+    /**
+     * Cột DB mà một filter path trỏ tới (path có thể đi qua association).
+     * steps: từng chặng (entity, attribute) của path, chặng cuối là thuộc tính lá thật sự bị filter.
+     */
+    public record ResolvedColumn(Class<?> owner, String table, String column, boolean indexed, List<Step> steps) {
+
+        public Step leaf() {
+            return steps.getLast();
+        }
+    }
+
+    /** Một chặng của path: attribute (tên trong metamodel, vd isRemote) trên entity. */
+    public record Step(Class<?> entity, String attribute) {
+    }
+
+    private record EntityIndexes(String table, List<List<String>> indexes, Set<String> leadingColumns) {
+    }
+
+    private final Metamodel metamodel;
+    private final SessionFactoryImplementor sessionFactory;
+    private final Map<Class<?>, EntityIndexes> entities = new HashMap<>();
+
+    public IndexCatalog(SessionFactoryImplementor sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        this.metamodel = sessionFactory.getMetamodel();
+        for (EntityType<?> entity : metamodel.getEntities()) {
+            entities.put(entity.getJavaType(), describe(entity));
+        }
+    }
+
+    /**
+     * Resolve path kiểu BaseSpecification.resolvePath ("status", "user.name", "remote" -> "isRemote").
+     *
+     * @return empty nếu path không tồn tại
+     */
+    public Optional<ResolvedColumn> resolve(Class<?> entity, String path) {
+        String[] parts = path.split("\\.");
+        List<Step> steps = new ArrayList<>(parts.length);
+        if (parts.length == 2) {
+            // "user.id" so sánh trên chính cột FK user_id, không cần join
+            Attribute<?, ?> association = attribute(entity, parts[0]);
+            if (association != null && association.isAssociation() && !association.isCollection()
+                    && isIdentifier(association.getJavaType(), parts[1])) {
+                steps.add(new Step(entity, association.getName()));
+                steps.add(new Step(association.getJavaType(), parts[1]));
+                return column(entity, association.getName(), steps);
+            }
+        }
+        Class<?> owner = entity;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Attribute<?, ?> association = attribute(owner, parts[i]);
+            if (association == null || !association.isAssociation()) {
+                return Optional.empty();
+            }
+            steps.add(new Step(owner, association.getName()));
+            owner = association.getJavaType();
+        }
+        Attribute<?, ?> attribute = attribute(owner, parts[parts.length - 1]);
+        if (attribute == null || attribute.isCollection()) {
+            return Optional.empty();
+        }
+        steps.add(new Step(owner, attribute.getName()));
+        return column(owner, attribute.getName(), steps);
+    }
+
+    private Optional<ResolvedColumn> column(Class<?> owner, String property, List<Step> steps) {
+        String[] columns = persister(owner).getPropertyColumnNames(property);
+        if (columns.length != 1) {
+            return Optional.empty();
+        }
+        String column = columns[0].toLowerCase(Locale.ROOT);
+        EntityIndexes indexes = entities.get(owner);
+        return Optional.of(new ResolvedColumn(owner, indexes.table(), column, indexes.leadingColumns().contains(column),
+                List.copyOf(steps)));
+    }
+
+    private boolean isIdentifier(Class<?> entity, String name) {
+        EntityIndexes indexes = entities.get(entity);
+        return indexes != null && name.equals(persister(entity).getIdentifierPropertyName());
+    }
+
+    /** Có index nào bắt đầu bằng đúng các cột này (theo thứ tự) không. */
+    public boolean hasIndexPrefix(Class<?> entity, List<String> columns) {
+        EntityIndexes indexes = entities.get(entity);
+        return indexes != null && indexes.indexes().stream()
+                .anyMatch(index -> index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns));
+    }
+
+    /**
+     * Có index dạng Equality - Sort không: các cột đầu của index đều nằm trong equality (thứ tự tuỳ ý),
+     * ngay sau đó là đúng các cột sort theo thứ tự. Khi đó MySQL đọc thẳng theo index, không filesort.
+     * Cột sort cũng là cột equality thì bỏ qua (chỉ có một giá trị, không ảnh hưởng thứ tự).
+     */
+    public boolean supportsEqualitySort(Class<?> entity, Set<String> equality, List<String> sort) {
+        EntityIndexes indexes = entities.get(entity);
+        if (indexes == null) {
+            return false;
+        }
+        return indexes.indexes().stream().anyMatch(index -> equalitySort(index, equality, sort));
+    }
+
+    static boolean equalitySort(List<String> index, Set<String> equality, List<String> sort) {
+        List<String> ordering = sort.stream().filter(c -> !equality.contains(c)).toList();
+        int prefix = 0;
+        while (prefix < index.size() && equality.contains(index.get(prefix))) {
+            prefix++;
+        }
+        if (ordering.isEmpty()) {
+            return prefix > 0;
+        }
+        return index.size() - prefix >= ordering.size()
+                && index.subList(prefix, prefix + ordering.size()).equals(ordering);
+    }
+
+    public String table(Class<?> entity) {
+        EntityIndexes indexes = entities.get(entity);
+        return indexes == null ? null : indexes.table();
+    }
+
+    private Attribute<?, ?> attribute(Class<?> owner, String name) {
+        EntityType<?> type;
+        try {
+            type = metamodel.entity(owner);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        for (String candidate : List.of(name, "is" + Character.toUpperCase(name.charAt(0)) + name.substring(1))) {
+            try {
+                return type.getAttribute(candidate);
+            } catch (IllegalArgumentException ignore) {
+                // thử biến thể isXxx như BaseSpecification
+            }
+        }
+        return null;
+    }
+
+    private AbstractEntityPersister persister(Class<?> entity) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity);
+        return (AbstractEntityPersister) persister;
+    }
+
+    private EntityIndexes describe(EntityType<?> entity) {
+        Class<?> type = entity.getJavaType();
+        AbstractEntityPersister persister = persister(type);
+        Table table = type.getAnnotation(Table.class);
+        String tableName = table != null && !table.name().isEmpty()
+                ? table.name()
+                : persister.getTableNames()[0].toLowerCase(Locale.ROOT);
+
+        List<List<String>> indexes = new ArrayList<>();
+        indexes.add(lower(Arrays.asList(persister.getIdentifierColumnNames())));
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                indexes.add(Arrays.stream(index.columnList().split(","))
+                        // "created_at DESC" -> created_at
+                        .map(c -> c.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                        .toList());
+            }
+        }
+        for (Attribute<?, ?> attribute : entity.getAttributes()) {
+            boolean unique = attribute.getJavaMember() instanceof Field field
+                    && field.isAnnotationPresent(Column.class) && field.getAnnotation(Column.class).unique();
+            boolean foreignKey = attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                    || attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE;
+            if (unique || foreignKey) {
+                String[] columns = persister.getPropertyColumnNames(attribute.getName());
+                if (columns.length > 0) {
+                    indexes.add(lower(Arrays.asList(columns)));
+                }
+            }
+        }
+
+        Set<String> leading = new HashSet<>();
+        indexes.forEach(index -> leading.add(index.get(0)));
+        return new EntityIndexes(tableName, indexes, leading);
+    }
+
+    private static List<String> lower(List<String> columns) {
+        return columns.stream().map(c -> c.toLowerCase(Locale.ROOT)).toList();
+    }
+}
@@ -0,0 +1,144 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Đo JDBC cho SqlStatsContext: thời gian chờ connection (pool), số statement và thời gian
+ * execute (DB), số row đọc qua ResultSet.next().
+ *
+ * Thay cho log org.hibernate.SQL=DEBUG / bind=TRACE: chỉ tăng vài bộ đếm, không format
+ * SQL hay ghi log. Statement chỉ được bọc khi có scope đang mở hoặc bật slow query log;
+ * ResultSet chỉ được bọc khi có scope.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    // null = tắt slow query log
+    private final Supplier<SlowQueryLog> slowQueries;
+
+    public InstrumentedDataSource(DataSource target, Supplier<SlowQueryLog> slowQueries) {
+        super(target);
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        SqlStatsContext.connection(System.nanoTime() - start);
+        return connection(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        SqlStatsContext.connection(System.nanoTime() - start);
+        return connection(connection);
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // createStatement / prepareStatement(sql) / prepareCall(sql)
+                SlowQueryLog slowLog = slowQueries == null ? null : slowQueries.get();
+                if (slowLog != null || SqlStatsContext.active()) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    boolean sampleParameters = slowLog != null && statement instanceof PreparedStatement
+                            && slowLog.sampleParameters();
+                    return statement(statement, method.getReturnType(), sql, slowLog, sampleParameters);
+                }
+            }
+            return result;
+        });
+    }
+
+    private Object statement(Statement target, Class<?> type, String preparedSql,
+                             SlowQueryLog slowLog, boolean sampleParameters) {
+        Map<Integer, SlowQueryLog.Binding> parameters = sampleParameters ? new TreeMap<>() : null;
+        return proxy(type, (proxy, method, args) -> {
+            String name = method.getName();
+            Object result;
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    SqlStatsContext.statement(nanos);
+                    if (slowLog != null) {
+                        // Statement.execute(sql) nhận SQL ở tham số; executeBatch thì không đo SQL
+                        String sql = preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        slowLog.onStatement(sql, nanos, parameters, getTargetDataSource());
+                    }
+                }
+            } else {
+                result = invoke(target, method, args);
+                if (parameters != null) {
+                    record(parameters, method, args);
+                }
+            }
+            // executeQuery / getResultSet / getGeneratedKeys
+            return result instanceof ResultSet resultSet && SqlStatsContext.active() ? resultSet(resultSet) : result;
+        });
+    }
+
+    // setXxx(index, value...) của PreparedStatement; stream / LOB không replay được thì bỏ
+    private static void record(Map<Integer, SlowQueryLog.Binding> parameters, Method method, Object[] args) {
+        if ("clearParameters".equals(method.getName())) {
+            parameters.clear();
+        } else if (method.getName().startsWith("set") && args != null && args.length >= 2
+                && args[0] instanceof Integer index && replayable(args)) {
+            parameters.put(index, new SlowQueryLog.Binding(method, args.clone()));
+        }
+    }
+
+    private static boolean replayable(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof java.io.InputStream || arg instanceof java.io.Reader
+                    || arg instanceof java.sql.Blob || arg instanceof java.sql.Clob) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                SqlStatsContext.row();
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+}
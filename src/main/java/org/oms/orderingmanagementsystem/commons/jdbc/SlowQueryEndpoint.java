@@ -0,0 +1,35 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/slowqueries: các query shape chậm nhất và plan EXPLAIN gần đây
+ * (fullScan / filesort / temporary). DELETE để xoá số liệu.
+ * Chỉ mở khi thêm "slowqueries" vào management.endpoints.web.exposure.include.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMs", slowQueryLog.getThresholdMs());
+        body.put("shapes", slowQueryLog.shapes());
+        body.put("plans", slowQueryLog.plans());
+        return body;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+}
@@ -0,0 +1,286 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Slow query log trong app, thay cho bật slow log MySQL và chạy EXPLAIN bằng tay.
+ *
+ * - Gom statement chậm theo "shape" (SQL đã chuẩn hoá: bỏ comment, gộp IN (?, ?, ...)),
+ *   kèm origin (service method / endpoint) và tổ hợp filter của request.
+ * - Chỉ giữ maxShapes shape chậm nhất: khi đầy, ngưỡng ghi nhận tự nâng lên bằng
+ *   max của shape nhanh nhất còn giữ (top-K), nên chi phí không tăng theo tải.
+ * - EXPLAIN chạy nền (1 thread, queue nhỏ, đầy thì bỏ) cho statement chậm có bind value
+ *   được lấy mẫu (parameterSampleRate), mỗi shape tối đa một lần mỗi explainInterval.
+ *   Plan được giữ trong ring buffer, đánh dấu full scan / filesort / temporary.
+ */
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final double parameterSampleRate;
+    private final long explainIntervalNanos;
+    private final int planBufferSize;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Deque<Plan> plans = new ArrayDeque<>();
+    private final ThreadPoolExecutor explainer;
+    private final Counter captured;
+    private final Counter explained;
+
+    // ngưỡng thực tế: max(threshold cấu hình, max của shape nhanh nhất khi đã đủ maxShapes)
+    private volatile long floorNanos;
+
+    public SlowQueryLog(long thresholdMs, int maxShapes, double parameterSampleRate,
+                        long explainIntervalMs, int planBufferSize, MeterRegistry registry) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.floorNanos = thresholdNanos;
+        this.maxShapes = maxShapes;
+        this.parameterSampleRate = parameterSampleRate;
+        this.explainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(explainIntervalMs);
+        this.planBufferSize = planBufferSize;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                r -> {
+                    Thread t = new Thread(r, "slow-query-explain");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.captured = Counter.builder("oms.sql.slow.captured")
+                .description("Statements slower than the adaptive slow-query threshold")
+                .register(registry);
+        this.explained = Counter.builder("oms.sql.slow.explained")
+                .description("Background EXPLAINs run for slow statements")
+                .register(registry);
+    }
+
+    /** Có ghi lại bind value của PreparedStatement này không (cần để EXPLAIN). */
+    boolean sampleParameters() {
+        return parameterSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < parameterSampleRate;
+    }
+
+    /**
+     * Gọi sau mỗi statement được đo.
+     *
+     * @param parameters bind value đã ghi (index -> setter + args), null nếu không lấy mẫu
+     * @param target     DataSource thật, dùng để chạy EXPLAIN
+     */
+    void onStatement(String sql, long nanos, Map<Integer, Binding> parameters, DataSource target) {
+        if (sql == null || nanos < floorNanos) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        if (!shapes.containsKey(fingerprint) && shapes.size() >= maxShapes && !evictFasterThan(nanos)) {
+            return;
+        }
+        Shape shape = shapes.computeIfAbsent(fingerprint, Shape::new);
+        captured.increment();
+        shape.record(sql, nanos, SqlStatsContext.currentOrigin(), SqlStatsContext.currentFilterShape());
+
+        if (explainable(sql, parameters) && shape.dueForExplain(explainIntervalNanos)) {
+            // copy: statement có thể được bind lại trong lúc EXPLAIN chạy nền
+            Map<Integer, Binding> bindings = parameters == null ? null : new TreeMap<>(parameters);
+            explainer.execute(() -> explain(shape, sql, nanos, bindings, target));
+        }
+    }
+
+    /** Bỏ shape nhanh nhất nếu statement mới chậm hơn nó; cập nhật ngưỡng. */
+    private synchronized boolean evictFasterThan(long nanos) {
+        if (shapes.size() < maxShapes) {
+            return true;
+        }
+        Shape fastest = shapes.values().stream()
+                .min(Comparator.comparingLong(s -> s.maxNanos.get()))
+                .orElse(null);
+        if (fastest == null || fastest.maxNanos.get() >= nanos) {
+            return false;
+        }
+        shapes.remove(fastest.fingerprint);
+        floorNanos = Math.max(thresholdNanos, fastest.maxNanos.get());
+        return true;
+    }
+
+    private static boolean explainable(String sql, Map<Integer, Binding> parameters) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (head.startsWith("/*")) {
+            head = COMMENTS.matcher(head).replaceFirst("").stripLeading();
+        }
+        return head.startsWith("select") && (parameters != null || sql.indexOf('?') < 0);
+    }
+
+    private void explain(Shape shape, String sql, long nanos, Map<Integer, Binding> parameters, DataSource target) {
+        try (Connection connection = target.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            if (parameters != null) {
+                for (Binding binding : parameters.values()) {
+                    binding.method().invoke(ps, binding.args());
+                }
+            }
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        row.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), rs.getObject(i));
+                    }
+                    rows.add(row);
+                }
+            }
+            addPlan(new Plan(Instant.now(), shape.fingerprint, sql, shape.origin, shape.filterShape,
+                    TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0,
+                    rows.stream().anyMatch(SlowQueryLog::isFullScan),
+                    rows.stream().anyMatch(r -> extra(r).contains("using filesort")),
+                    rows.stream().anyMatch(r -> extra(r).contains("using temporary")),
+                    rows));
+            explained.increment();
+        } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+            log.debug("EXPLAIN failed for slow query shape {}: {}", shape.fingerprint, e.getMessage());
+        }
+    }
+
+    // MySQL: type=ALL là full table scan; các DB khác chỉ có plan dạng text
+    private static boolean isFullScan(Map<String, Object> row) {
+        Object type = row.get("type");
+        if (type != null) {
+            return "ALL".equalsIgnoreCase(type.toString());
+        }
+        return row.values().stream().anyMatch(v -> v != null && v.toString().toLowerCase(Locale.ROOT).contains("tablescan"));
+    }
+
+    private static String extra(Map<String, Object> row) {
+        Object extra = row.get("extra");
+        return extra == null ? "" : extra.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized void addPlan(Plan plan) {
+        if (plans.size() >= planBufferSize) {
+            plans.removeLast();
+        }
+        plans.addFirst(plan);
+    }
+
+    /* ===================== Read side ===================== */
+
+    public long getThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(floorNanos);
+    }
+
+    /** Các shape chậm nhất, sắp theo max giảm dần. */
+    public List<ShapeSnapshot> shapes() {
+        return shapes.values().stream()
+                .map(Shape::snapshot)
+                .sorted(Comparator.comparingDouble(ShapeSnapshot::maxMs).reversed())
+                .toList();
+    }
+
+    /** Plan mới nhất trước. */
+    public synchronized List<Plan> plans() {
+        return List.copyOf(plans);
+    }
+
+    public synchronized void reset() {
+        shapes.clear();
+        plans.clear();
+        floorNanos = thresholdNanos;
+    }
+
+    @Override
+    public void close() {
+        explainer.shutdownNow();
+    }
+
+    static String fingerprint(String sql) {
+        String s = COMMENTS.matcher(sql).replaceAll(" ");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    /* ===================== Types ===================== */
+
+    /** Một lần gọi setter của PreparedStatement, replay lên statement EXPLAIN. */
+    record Binding(Method method, Object[] args) {
+    }
+
+    public record ShapeSnapshot(String fingerprint, String sample, String origin, String filterShape,
+                                long count, double maxMs, double avgMs, Instant lastSeen) {
+    }
+
+    public record Plan(Instant at, String fingerprint, String sql, String origin, String filterShape,
+                       double elapsedMs, boolean fullScan, boolean filesort, boolean temporary,
+                       List<Map<String, Object>> rows) {
+    }
+
+    private static final class Shape {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong lastExplainNanos = new AtomicLong(Long.MIN_VALUE);
+        private volatile String sample;
+        private volatile String origin;
+        private volatile String filterShape;
+        private volatile Instant lastSeen;
+
+        private Shape(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(String sql, long nanos, String origin, String filterShape) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (maxNanos.accumulateAndGet(nanos, Math::max) == nanos) {
+                sample = sql;
+            }
+            if (origin != null) this.origin = origin;
+            if (filterShape != null) this.filterShape = filterShape;
+            lastSeen = Instant.now();
+        }
+
+        boolean dueForExplain(long intervalNanos) {
+            long now = System.nanoTime();
+            long last = lastExplainNanos.get();
+            return (last == Long.MIN_VALUE || now - last >= intervalNanos)
+                    && lastExplainNanos.compareAndSet(last, now);
+        }
+
+        ShapeSnapshot snapshot() {
+            long n = Math.max(1, count.sum());
+            return new ShapeSnapshot(fingerprint, sample, origin, filterShape, count.sum(),
+                    maxNanos.get() / 1_000_000.0, totalNanos.sum() / (double) n / 1_000_000.0, lastSeen);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đo JDBC của một service method (scope "method", tên = Class.method) và cảnh báo
+ * khi số statement vượt budget, để bắt N+1 thay vì đọc log SQL.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /** Số statement tối đa cho một lần gọi; 0 = chỉ đo, không kiểm tra. */
+    int statements() default 0;
+}
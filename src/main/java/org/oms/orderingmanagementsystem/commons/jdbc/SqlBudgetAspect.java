@@ -0,0 +1,32 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Mở scope SqlStats quanh các method có @SqlBudget.
+ * Order(0): chạy NGOÀI @Transactional để tính cả thời gian lấy connection lúc bắt đầu transaction.
+ */
+@Aspect
+@Order(0)
+@RequiredArgsConstructor
+public class SqlBudgetAspect {
+
+    private final SqlStatsPublisher publisher;
+
+    @Around("@annotation(budget)")
+    public Object measure(ProceedingJoinPoint joinPoint, SqlBudget budget) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        SqlStats stats = SqlStatsContext.begin(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStatsContext.end(stats);
+            publisher.publish(SqlStatsPublisher.SCOPE_METHOD, name, stats, budget.statements());
+        }
+    }
+}
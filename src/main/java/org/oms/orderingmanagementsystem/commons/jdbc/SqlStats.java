@@ -0,0 +1,64 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bộ đếm JDBC của một scope (một HTTP request hoặc một lần gọi service method).
+ * Thread-safe vì một scope có thể được ghi từ nhiều thread (vd. fan-out của dashboard).
+ */
+public class SqlStats {
+
+    // nơi mở scope (vd. "OrderService.pagination", "GET /api/order/v1"), dùng cho slow query log
+    private final String origin;
+    // tổ hợp filter của request (BaseService.filterShape), set sau khi parse params
+    private volatile String filterShape;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder poolNanos = new LongAdder();
+
+    public SqlStats(String origin) {
+        this.origin = origin;
+    }
+
+    void statement(long nanos) {
+        statements.increment();
+        dbNanos.add(nanos);
+    }
+
+    void row() {
+        rows.increment();
+    }
+
+    void connection(long nanos) {
+        poolNanos.add(nanos);
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getFilterShape() {
+        return filterShape;
+    }
+
+    void setFilterShape(String filterShape) {
+        this.filterShape = filterShape;
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    public long getPoolNanos() {
+        return poolNanos.sum();
+    }
+}
@@ -0,0 +1,102 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+/**
+ * Các scope SqlStats đang mở trên thread hiện tại (lồng nhau: request -> service method).
+ * Mỗi statement / row / lần lấy connection được cộng vào TẤT CẢ scope đang mở.
+ *
+ * Không có scope nào thì InstrumentedDataSource không bọc Statement / ResultSet,
+ * nên job nền (index rebuild, scheduler) không tốn thêm gì.
+ */
+public final class SqlStatsContext {
+
+    private record Frame(SqlStats stats, Frame parent) {
+    }
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private SqlStatsContext() {
+    }
+
+    public static SqlStats begin(String origin) {
+        SqlStats stats = new SqlStats(origin);
+        CURRENT.set(new Frame(stats, CURRENT.get()));
+        return stats;
+    }
+
+    public static void end(SqlStats stats) {
+        Frame frame = CURRENT.get();
+        while (frame != null && frame.stats() != stats) {
+            frame = frame.parent();
+        }
+        restore(frame == null ? null : frame.parent());
+    }
+
+    /** Cho task chạy trên thread khác ghi vào các scope của thread gọi (dùng làm TaskDecorator). */
+    public static Runnable propagate(Runnable task) {
+        Frame captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Frame previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /** Gắn tổ hợp filter (BaseService.filterShape) cho scope trong cùng. */
+    public static void filterShape(String shape) {
+        Frame frame = CURRENT.get();
+        if (frame != null) {
+            frame.stats().setFilterShape(shape);
+        }
+    }
+
+    static String currentOrigin() {
+        Frame frame = CURRENT.get();
+        return frame == null ? null : frame.stats().getOrigin();
+    }
+
+    static String currentFilterShape() {
+        for (Frame f = CURRENT.get(); f != null; f = f.parent()) {
+            if (f.stats().getFilterShape() != null) {
+                return f.stats().getFilterShape();
+            }
+        }
+        return null;
+    }
+
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void statement(long nanos) {
+        for (Frame f = CURRENT.get(); f != null; f = f.parent()) {
+            f.stats().statement(nanos);
+        }
+    }
+
+    static void row() {
+        for (Frame f = CURRENT.get(); f != null; f = f.parent()) {
+            f.stats().row();
+        }
+    }
+
+    static void connection(long nanos) {
+        for (Frame f = CURRENT.get(); f != null; f = f.parent()) {
+            f.stats().connection(nanos);
+        }
+    }
+
+    private static void restore(Frame frame) {
+        if (frame == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(frame);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.oms.orderingmanagementsystem.commons.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ghi SqlStats của một scope thành histogram (tag scope + name) và đánh dấu scope vượt budget:
+ * - oms.sql.statements, oms.sql.rows     (distribution summary)
+ * - oms.sql.db.time, oms.sql.pool.time   (timer)
+ * - oms.sql.budget.exceeded              (counter) + một dòng WARN
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatsPublisher {
+
+    public static final String SCOPE_HTTP = "http";
+    public static final String SCOPE_METHOD = "method";
+
+    private final MeterRegistry registry;
+
+    public void publish(String scope, String name, SqlStats stats, int statementBudget) {
+        Tags tags = Tags.of("scope", scope, "name", name);
+        DistributionSummary.builder("oms.sql.statements")
+                .description("JDBC statements executed per scope")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("oms.sql.rows")
+                .description("Rows read from JDBC result sets per scope")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getRows());
+        Timer.builder("oms.sql.db.time")
+                .description("Time spent executing JDBC statements per scope")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("oms.sql.pool.time")
+                .description("Time spent obtaining JDBC connections per scope")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getPoolNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && stats.getStatements() > statementBudget) {
+            Counter.builder("oms.sql.budget.exceeded")
+                    .description("Scopes that executed more statements than their budget")
+                    .tags(tags)
+                    .register(registry)
+                    .increment();
+            log.warn("SQL statement budget exceeded [{} {}]: {} statements (budget {}), {} rows, db {} ms, pool {} ms",
+                    scope, name, stats.getStatements(), statementBudget, stats.getRows(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getPoolNanos()));
+        }
+    }
+}
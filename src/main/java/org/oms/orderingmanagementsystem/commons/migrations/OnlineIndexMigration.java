@@ -0,0 +1,115 @@
+package org.oms.orderingmanagementsystem.commons.migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Migration Flyway tạo / xoá index mà không khoá bảng đang nóng:
+ *
+ * - MySQL: CREATE / DROP INDEX ... ALGORITHM=INPLACE LOCK=NONE, ghi đọc vẫn chạy trong lúc build index.
+ *   lock_wait_timeout ngắn để nếu metadata lock bị transaction dài giữ thì migration fail nhanh
+ *   (deploy sau chạy lại) thay vì xếp hàng và chặn mọi query sau nó trên bảng.
+ * - Idempotent: index đã có thì bỏ qua khi tạo, chưa có thì bỏ qua khi xoá, nên chạy được
+ *   cả trên DB dựng bằng V1 lẫn DB cũ do ddl-auto=update / script tay để lại.
+ *
+ * Tạo trước rồi mới xoá, để cột FK luôn còn index phủ.
+ * Checksum tính từ danh sách index: sửa migration đã chạy thì Flyway validate báo lỗi.
+ */
+@Slf4j
+public class OnlineIndexMigration implements JavaMigration {
+
+    /** columns theo cú pháp MySQL, vd "user_id, created_at DESC, id". */
+    public record Index(String table, String name, String columns) {
+    }
+
+    private final MigrationVersion version;
+    private final String description;
+    private final List<Index> create;
+    private final List<Index> drop;
+    private final int lockWaitTimeoutSeconds;
+
+    public OnlineIndexMigration(String version, String description, List<Index> create, List<Index> drop,
+                                int lockWaitTimeoutSeconds) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+        this.create = List.copyOf(create);
+        this.drop = List.copyOf(drop);
+        this.lockWaitTimeoutSeconds = lockWaitTimeoutSeconds;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        CRC32 crc = new CRC32();
+        crc.update(("create" + create + "drop" + drop).getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    /** DDL trên MySQL tự commit, transaction không có tác dụng. */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        String online = mysql ? " ALGORITHM=INPLACE LOCK=NONE" : "";
+
+        try (Statement statement = connection.createStatement()) {
+            if (mysql) {
+                statement.execute("SET SESSION lock_wait_timeout = " + lockWaitTimeoutSeconds);
+            }
+            for (Index index : create) {
+                if (exists(connection, index)) continue;
+                long start = System.nanoTime();
+                statement.execute("CREATE INDEX " + index.name() + " ON " + index.table()
+                        + " (" + index.columns() + ")" + online);
+                log.info("Created index {} on {} ({}) in {} ms", index.name(), index.table(), index.columns(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            for (Index index : drop) {
+                if (!exists(connection, index)) continue;
+                statement.execute(mysql
+                        ? "DROP INDEX " + index.name() + " ON " + index.table() + online
+                        : "DROP INDEX " + index.name());
+                log.info("Dropped index {} on {}", index.name(), index.table());
+            }
+        }
+    }
+
+    private static boolean exists(Connection connection, Index index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                index.table(), false, true)) {
+            while (rs.next()) {
+                if (index.name().equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package org.oms.orderingmanagementsystem.commons.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Số tiền fixed-point: long đơn vị nhỏ nhất (1/100, khớp cột decimal(38,2) trong DB).
+ * Cộng / nhân là phép toán long (tràn thì ArithmeticException, không âm thầm sai), không tạo
+ * BigDecimal mỗi phép cộng như reduce(BigDecimal::add).
+ *
+ * Ngoài app vẫn là số thập phân: cột DB qua MoneyConverter, JSON qua @JsonValue / @JsonCreator,
+ * DTO response qua MoneyMapper (BigDecimal).
+ */
+public record Money(long minor) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /** null -> null; quá 2 chữ số thập phân hoặc vượt long thì ArithmeticException. */
+    @JsonCreator
+    public static Money of(BigDecimal value) {
+        return value == null ? null : ofMinor(value.movePointRight(SCALE).longValueExact());
+    }
+
+    /**
+     * Giá trị tiền đọc từ kết quả query không định kiểu (Object[], Tuple): cột có MoneyConverter đọc ra Money,
+     * còn SUM(...) trên cột đó luôn là BigDecimal (Hibernate không áp converter cho aggregate).
+     */
+    public static Money from(Object value) {
+        return value instanceof Money money ? money : of((BigDecimal) value);
+    }
+
+    public Money plus(Money other) {
+        return other == null || other.minor == 0 ? this : ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minor, quantity));
+    }
+
+    public boolean isZero() {
+        return minor == 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Tổng số tiền của các phần tử (null bỏ qua): cộng dồn trên long, chỉ tạo một Money ở cuối.
+     */
+    public static <T> Money sum(Iterable<T> items, Function<? super T, Money> amount) {
+        if (items == null) {
+            return ZERO;
+        }
+        long total = 0;
+        for (T item : items) {
+            Money value = amount.apply(item);
+            if (value != null) {
+                total = Math.addExact(total, value.minor);
+            }
+        }
+        return ofMinor(total);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,129 @@
+package org.oms.orderingmanagementsystem.commons.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Quản lý partition RANGE COLUMNS theo tháng cho MySQL:
+ *
+ *   p_old     VALUES LESS THAN ('<tháng đầu>-01')
+ *   p202401   VALUES LESS THAN ('2024-02-01')
+ *   ...
+ *   p_future  VALUES LESS THAN (MAXVALUE)
+ *
+ * - ensure(): lần đầu chuyển bảng thường sang partition, các lần sau tách p_future ra
+ *   các tháng còn thiếu (p_future luôn gần như rỗng nên REORGANIZE rẻ).
+ * - dropBefore(): bỏ các partition tháng cũ, xoá dữ liệu tức thì thay vì DELETE từng row.
+ *
+ * DB khác MySQL (H2 khi test) thì không làm gì.
+ */
+@Slf4j
+public class MonthlyPartitionManager {
+
+    private static final Pattern MONTHLY = Pattern.compile("p(\\d{6})");
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean supported;
+
+    public MonthlyPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isSupported() {
+        if (supported == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            supported = product != null && product.toLowerCase().contains("mysql");
+        }
+        return supported;
+    }
+
+    /** Bảo đảm có partition riêng cho mọi tháng tới hết {@code through}. */
+    public void ensure(String table, String column, YearMonth through) {
+        if (!isSupported()) return;
+        List<YearMonth> months = monthlyPartitions(table);
+        if (months == null) {
+            partitionTable(table, column, through);
+            return;
+        }
+        YearMonth next = months.isEmpty() ? through : months.getLast().plusMonths(1);
+        if (next.isAfter(through)) return;
+
+        List<String> parts = new ArrayList<>();
+        for (YearMonth m = next; !m.isAfter(through); m = m.plusMonths(1)) {
+            parts.add(partition(m));
+        }
+        parts.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION p_future INTO ("
+                + String.join(", ", parts) + ")");
+        log.info("Added monthly partitions {}..{} to {}", next, through, table);
+    }
+
+    /** Drop partition của các tháng trước {@code month}. */
+    public void dropBefore(String table, YearMonth month) {
+        if (!isSupported()) return;
+        List<YearMonth> months = monthlyPartitions(table);
+        if (months == null) return;
+        List<String> expired = months.stream()
+                .filter(m -> m.isBefore(month))
+                .map(m -> "p" + NAME.format(m))
+                .toList();
+        if (expired.isEmpty()) return;
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", expired));
+        log.info("Dropped partitions {} from {}", expired, table);
+    }
+
+    private void partitionTable(String table, String column, YearMonth through) {
+        YearMonth first = jdbcTemplate.query(
+                "SELECT MIN(" + column + ") FROM " + table,
+                rs -> rs.next() && rs.getTimestamp(1) != null
+                        ? YearMonth.from(rs.getTimestamp(1).toLocalDateTime())
+                        : through);
+        first = Objects.requireNonNullElse(first, through);
+        if (first.isAfter(through)) first = through;
+
+        List<String> parts = new ArrayList<>();
+        parts.add("PARTITION p_old VALUES LESS THAN ('" + first.atDay(1) + "')");
+        for (YearMonth m = first; !m.isAfter(through); m = m.plusMonths(1)) {
+            parts.add(partition(m));
+        }
+        parts.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        // bảng có sẵn dữ liệu sẽ bị copy một lần; archive mới tạo thì gần như rỗng
+        jdbcTemplate.execute("ALTER TABLE " + table + " PARTITION BY RANGE COLUMNS(" + column + ") ("
+                + String.join(", ", parts) + ")");
+        log.info("Partitioned {} by month on {} ({}..{})", table, column, first, through);
+    }
+
+    /** @return các tháng đã có partition (tăng dần), null nếu bảng chưa partition */
+    private List<YearMonth> monthlyPartitions(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, table);
+        if (names.isEmpty() || names.getFirst() == null) {
+            return null;
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            Matcher m = MONTHLY.matcher(name);
+            if (m.matches()) {
+                months.add(YearMonth.parse(m.group(1), NAME));
+            }
+        }
+        return months;
+    }
+
+    private static String partition(YearMonth month) {
+        return "PARTITION p" + NAME.format(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
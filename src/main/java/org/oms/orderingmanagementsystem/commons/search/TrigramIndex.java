@@ -0,0 +1,146 @@
+package org.oms.orderingmanagementsystem.commons.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index: mỗi trigram (3 ký tự liên tiếp, lower-case) trỏ tới
+ * một RoaringBitmap chứa các doc id có chứa trigram đó.
+ *
+ * Tìm substring = AND các bitmap của mọi trigram trong query, nên kết quả là
+ * tập ỨNG VIÊN (có thể dư: trigram đủ cả nhưng không liền nhau). Caller phải verify
+ * lại ứng viên (vd. LIKE trên đúng các id này).
+ *
+ * Giá trị hiện tại của từng doc được giữ lại để put / remove gỡ được trigram cũ khỏi
+ * posting: index không phình theo số lần update, trigram không còn doc nào thì bị xoá.
+ */
+public class TrigramIndex {
+
+    public static final int GRAM = 3;
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Thay toàn bộ giá trị của doc (vd. phone, email); giá trị null / ngắn hơn một trigram bị bỏ qua. */
+    public void put(int docId, String... values) {
+        Set<Long> grams = grams(values);
+        lock.writeLock().lock();
+        try {
+            Set<Long> old = grams(documents.get(docId));
+            for (long gram : old) {
+                if (!grams.contains(gram)) unpost(gram, docId);
+            }
+            for (long gram : grams) {
+                if (!old.contains(gram)) postings.computeIfAbsent(gram, k -> new RoaringBitmap()).add(docId);
+            }
+            if (grams.isEmpty()) {
+                documents.remove(docId);
+            } else {
+                documents.put(docId, values.clone());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            for (long gram : grams(documents.remove(docId))) {
+                unpost(gram, docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unpost(long gram, int docId) {
+        RoaringBitmap posting = postings.get(gram);
+        if (posting == null) return;
+        posting.remove(docId);
+        if (posting.isEmpty()) postings.remove(gram);
+    }
+
+    private static Set<Long> grams(String[] values) {
+        if (values == null) return Set.of();
+        Set<Long> grams = new HashSet<>();
+        for (String value : values) {
+            if (value == null || value.length() < GRAM) continue;
+            String v = value.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + GRAM <= v.length(); i++) {
+                grams.add(pack(v, i));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * @return bitmap ứng viên (bản copy, caller dùng tuỳ ý),
+     *         hoặc null nếu query ngắn hơn một trigram
+     */
+    public RoaringBitmap candidates(String query) {
+        if (query == null || query.length() < GRAM) return null;
+        String q = query.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> lists = new ArrayList<>(q.length());
+            for (int i = 0; i + GRAM <= q.length(); i++) {
+                RoaringBitmap posting = postings.get(pack(q, i));
+                if (posting == null) return new RoaringBitmap();
+                lists.add(posting);
+            }
+            // AND từ posting nhỏ nhất để tập trung gian luôn nhỏ
+            lists.sort((a, b) -> Integer.compare(a.getCardinality(), b.getCardinality()));
+            RoaringBitmap result = lists.get(0).clone();
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.and(lists.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Nén các posting (run container) sau khi build xong. */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long pack(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
@@ -0,0 +1,67 @@
+package org.oms.orderingmanagementsystem.commons.templates;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache HTML đã render của từng fragment Thymeleaf.
+ *
+ * Key = (template, fragment, version): fragment tĩnh (navbar) dùng version cố định nên chỉ render
+ * một lần; fragment phụ thuộc dữ liệu dùng chính dữ liệu hiển thị làm version (so bằng equals),
+ * dữ liệu đổi thì key đổi, entry cũ tự bị đẩy ra theo maximumSize.
+ *
+ * render trả về null khi tắt cache, template tự render fragment inline như bình thường.
+ */
+public class FragmentRenderCache {
+
+    private record Key(String template, String fragment, Object version) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication application;
+    private final Cache<Key, String> cache;
+    private final Timer renderTimer;
+    private final boolean enabled;
+
+    public FragmentRenderCache(ITemplateEngine templateEngine, JakartaServletWebApplication application,
+                               long maxSize, MeterRegistry registry, boolean enabled) {
+        this.templateEngine = templateEngine;
+        this.application = application;
+        this.enabled = enabled;
+        // hit / miss: /actuator/metrics/cache.gets?tag=cache:template-fragment
+        this.cache = CaffeineCacheMetrics.monitor(registry,
+                Caffeine.newBuilder().maximumSize(maxSize).recordStats().<Key, String>build(),
+                "template-fragment");
+        this.renderTimer = Timer.builder("oms.template.fragment.render")
+                .description("Time spent rendering template fragments on cache miss")
+                .register(registry);
+    }
+
+    /**
+     * @param variables biến fragment cần khi render (chỉ dùng lúc miss)
+     * @return HTML của fragment, hoặc null nếu cache đang tắt
+     */
+    public String render(String template, String fragment, Object version, Map<String, Object> variables,
+                         HttpServletRequest request, HttpServletResponse response) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.get(new Key(template, fragment, version), key -> renderTimer.record(() -> {
+            // WebContext để @{...} ra đúng context path như khi render cả trang
+            WebContext context = new WebContext(application.buildExchange(request, response),
+                    request.getLocale(), variables);
+            return templateEngine.process(template, Set.of(fragment), context);
+        }));
+    }
+}
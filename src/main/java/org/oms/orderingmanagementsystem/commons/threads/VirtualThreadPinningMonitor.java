@@ -0,0 +1,60 @@
+package org.oms.orderingmanagementsystem.commons.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Theo dõi sự kiện JFR jdk.VirtualThreadPinned: virtual thread bị "ghim" vào carrier
+ * thread khi block bên trong synchronized (vd. trong JDBC driver / Hibernate).
+ * Mỗi lần bị ghim được ghi vào timer oms.vthreads.pinned, tag theo frame đầu tiên
+ * ngoài JDK để biết thư viện nào gây ra.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry registry;
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+        this.registry = registry;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    private void record(RecordedEvent event) {
+        Timer.builder("oms.vthreads.pinned")
+                .description("Virtual thread pinned to its carrier while blocking")
+                .tag("frame", culprit(event))
+                .register(registry)
+                .record(event.getDuration());
+    }
+
+    private static String culprit(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "unknown";
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type;
+            }
+        }
+        return "jdk";
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
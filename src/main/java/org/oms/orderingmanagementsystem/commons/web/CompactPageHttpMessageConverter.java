@@ -0,0 +1,161 @@
+package org.oms.orderingmanagementsystem.commons.web;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.TokenStreamFactory;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoding gọn cho Slice / Page trả từ controller, client chọn bằng header Accept:
+ *
+ * - application/vnd.oms.page+json: {"fields":[...],"items":[[...],...],"next":2,"hasNext":true}
+ * - application/cbor: cùng envelope, binary
+ *
+ * Tên field ghi một lần trong "fields", mỗi dòng là mảng giá trị theo đúng thứ tự đó; không có
+ * pageable / sort như Jackson mặc định. next = giá trị tham số page cho trang sau (null = hết).
+ * Ghi thẳng ra output stream bằng JsonGenerator, không dựng tree / map trung gian.
+ *
+ * Accept khác (application/json, wildcard của browser / curl) vẫn đi Jackson mặc định: canWrite(..., null)
+ * = false nên converter này không góp media type vào danh sách "producible", chỉ nhận khi client hỏi đúng tên.
+ * Chỉ ghi Slice có kiểu phần tử đã register.
+ */
+public class CompactPageHttpMessageConverter extends AbstractSmartHttpMessageConverter<Slice<?>> {
+
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType("application/vnd.oms.page+json");
+    public static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    /** Ghi các giá trị của một dòng, đúng thứ tự fields. */
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(Row row, T value);
+    }
+
+    /** Các kiểu giá trị mà response đang dùng; null ghi thành null. */
+    public static final class Row {
+        private final JsonGenerator generator;
+
+        private Row(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        public Row value(Long value) {
+            if (value == null) generator.writeNull(); else generator.writeNumber(value);
+            return this;
+        }
+
+        public Row value(BigDecimal value) {
+            if (value == null) generator.writeNull(); else generator.writeNumber(value);
+            return this;
+        }
+
+        public Row value(String value) {
+            generator.writeString(value);
+            return this;
+        }
+
+        /** ISO-8601 như Jackson mặc định (luôn có giây). */
+        public Row value(LocalDateTime value) {
+            generator.writeString(value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return this;
+        }
+    }
+
+    private record Layout<T>(List<String> fields, RowWriter<T> writer) {
+    }
+
+    private final Map<Class<?>, Layout<?>> layouts = new HashMap<>();
+    private final TokenStreamFactory json = new JsonFactory();
+    private final TokenStreamFactory cbor = new CBORFactory();
+
+    public CompactPageHttpMessageConverter() {
+        super(COMPACT_JSON, CBOR);
+    }
+
+    public <T> CompactPageHttpMessageConverter register(Class<T> type, List<String> fields, RowWriter<T> writer) {
+        layouts.put(type, new Layout<>(List.copyOf(fields), writer));
+        return this;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Slice.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                && supports(valueClass) && canWrite(mediaType)
+                && layouts.containsKey(targetType.as(Slice.class).getGeneric(0).resolve());
+    }
+
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Slice<?> read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints) {
+        throw new HttpMessageNotReadableException("Compact page encoding is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Slice<?> slice, ResolvableType type, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        Layout<?> layout = layouts.get(type.as(Slice.class).getGeneric(0).resolve());
+        if (layout == null) {
+            throw new HttpMessageNotWritableException("No compact layout for " + type);
+        }
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        TokenStreamFactory factory = contentType != null && CBOR.isCompatibleWith(contentType) ? cbor : json;
+        try (JsonGenerator generator = factory.createGenerator(ObjectWriteContext.empty(), outputMessage.getBody())) {
+            write(generator, slice, layout);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void write(JsonGenerator generator, Slice<?> slice, Layout<T> layout) {
+        // độ dài mảng biết trước: CBOR ghi header có độ dài thay vì mảng vô hạn + marker kết thúc
+        generator.writeStartObject(slice, 4);
+        generator.writeName("fields");
+        generator.writeStartArray(layout.fields(), layout.fields().size());
+        for (String field : layout.fields()) {
+            generator.writeString(field);
+        }
+        generator.writeEndArray();
+
+        generator.writeName("items");
+        generator.writeStartArray(slice.getContent(), slice.getNumberOfElements());
+        Row row = new Row(generator);
+        int columns = layout.fields().size();
+        for (Object item : slice.getContent()) {
+            generator.writeStartArray(item, columns);
+            layout.writer().write(row, (T) item);
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+
+        // tham số page của API bắt đầu từ 1, Slice đếm từ 0
+        generator.writeName("next");
+        if (slice.hasNext()) generator.writeNumber(slice.getNumber() + 2); else generator.writeNull();
+        generator.writeName("hasNext");
+        generator.writeBoolean(slice.hasNext());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,21 @@
+package org.oms.orderingmanagementsystem.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.services.interfaces.DashboardStreamServiceInterface;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardStreamServiceInterface dashboardStreamService;
+
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.subscribe();
+    }
+}
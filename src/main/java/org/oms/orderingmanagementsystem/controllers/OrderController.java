@@ -1,27 +1,46 @@
 package org.oms.orderingmanagementsystem.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.dtos.request.OrderStatusRequest;
+import org.oms.orderingmanagementsystem.dtos.response.OrderChangesResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderDetailResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderFeedResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderStatusResponse;
 import org.oms.orderingmanagementsystem.entities.Order;
 import org.oms.orderingmanagementsystem.mappers.OrderMapper;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderChangesServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderFeedServiceInterface;
 import org.oms.orderingmanagementsystem.services.interfaces.OrderServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderStatusServiceInterface;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("api/order")
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderServiceInterface orderService;
+    private final OrderFeedServiceInterface orderFeedService;
+    private final OrderChangesServiceInterface orderChangesService;
+    private final OrderStatusServiceInterface orderStatusService;
 
     @GetMapping("v1")
     ResponseEntity<Slice<OrderResponse>> getAll(HttpServletRequest request) {
@@ -29,4 +48,60 @@ public class OrderController {
         Slice<OrderResponse> orderResponses = orderService.pagination(params);
         return ResponseEntity.ok(orderResponses);
     }
+
+    /**
+     * Order detail có ETag theo version của đơn: client gửi If-None-Match khớp thì nhận 304
+     * mà server không phải load order / items.
+     */
+    @GetMapping("{id}")
+    ResponseEntity<OrderDetailResponse> getDetail(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> eTag = orderService.detailETag(id);
+            if (eTag.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(eTag.get())) {
+                return null;
+            }
+        }
+        return orderService.detail(id)
+                .map(detail -> ResponseEntity.ok()
+                        .eTag(detail.eTag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(detail.body()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Chuyển trạng thái đơn (callback thanh toán, admin). 409 khi chuyển không hợp lệ, sai expectedVersion
+     * hoặc ghi đồng thời liên tục thắng; gửi lại trạng thái hiện tại thì 200, không đổi gì.
+     */
+    @PutMapping("{id}/status")
+    ResponseEntity<OrderStatusResponse> updateStatus(@PathVariable Long id,
+                                                     @Valid @RequestBody OrderStatusRequest request) {
+        return orderStatusService.transition(id, request.getStatus(), request.getExpectedVersion())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lịch sử đơn của user, mới nhất trước. Trang sau: gửi lại nextCursor của trang trước.
+     */
+    @GetMapping("user/{userId}/feed")
+    ResponseEntity<OrderFeedResponse> getUserFeed(@PathVariable Long userId,
+                                                  @RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderFeedService.feed(userId, status, cursor, size));
+    }
+
+    /**
+     * Delta sync: đơn tạo / sửa sau token (since), cũ nhất trước. Lần sau gửi lại nextToken;
+     * hasMore = true thì gọi tiếp ngay.
+     */
+    @GetMapping("changes")
+    ResponseEntity<OrderChangesResponse> getChanges(@RequestParam(required = false) String since,
+                                                    @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderChangesService.changes(since, size));
+    }
 }
@@ -1,7 +1,9 @@
 package org.oms.orderingmanagementsystem.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.templates.FragmentRenderCache;
 import org.oms.orderingmanagementsystem.dtos.response.DashboardResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
 import org.oms.orderingmanagementsystem.dtos.response.UserResponse;
@@ -15,6 +17,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,14 +29,24 @@ public class PageController {
     private final DashboardServiceInterface dashboardService;
     private final UserService userService;
     private final OrderServiceInterface orderService;
+    private final FragmentRenderCache fragmentRenderCache;
 
     @GetMapping({"/", "/dashboard"})
-    public String dashboard(Model model) {
+    public String dashboard(HttpServletRequest request, HttpServletResponse response, Model model) {
         DashboardResponse stats = dashboardService.getDashboardStatistics();
 
         model.addAttribute("dashboard", stats);
         model.addAttribute("pageTitle", "Dashboard");
-        model.addAttribute("activePage", "dashboard");
+        layout(model, "dashboard", request, response);
+
+        // version = chính số liệu hiển thị: chỉ render lại khi số liệu đổi
+        Map<String, Object> variables = Map.of("dashboard", stats);
+        model.addAttribute("dashboardCardsHtml", fragmentRenderCache.render("dashboard", "cards",
+                Arrays.asList(stats.getTotalUsers(), stats.getTotalOrders(), stats.getTotalProducts(), stats.getTotalRevenue()),
+                variables, request, response));
+        model.addAttribute("dashboardRecentHtml", fragmentRenderCache.render("dashboard", "recent",
+                Arrays.asList(stats.getRecentOrders(), stats.getRecentActivities()),
+                variables, request, response));
 
         return "dashboard";
     }
@@ -44,7 +57,7 @@ public class PageController {
     }
 
     @GetMapping("/orders")
-    public String orders(HttpServletRequest request, Model model) {
+    public String orders(HttpServletRequest request, HttpServletResponse response, Model model) {
         Map<String, String[]> params = new HashMap<>(request.getParameterMap());
         params.putIfAbsent("page", new String[]{"1"});
 
@@ -52,12 +65,12 @@ public class PageController {
 
         model.addAttribute("orders", orderList);
         model.addAttribute("pageTitle", "Orders");
-        model.addAttribute("activePage", "orders");
+        layout(model, "orders", request, response);
         return "orders";
     }
 
     @GetMapping("/users")
-    public String users(HttpServletRequest request, Model model) {
+    public String users(HttpServletRequest request, HttpServletResponse response, Model model) {
         Map<String, String[]> params = new HashMap<>(request.getParameterMap());
         params.putIfAbsent("page", new String[]{"1"});
 
@@ -65,8 +78,17 @@ public class PageController {
 
         model.addAttribute("users", userList);
         model.addAttribute("pageTitle", "Users");
-        model.addAttribute("activePage", "users");
+        layout(model, "users", request, response);
 
         return "users";
     }
-}
\ No newline at end of file
+
+    /** Navbar (tĩnh) và sidebar (theo activePage) lấy từ fragment cache, null thì layout tự render. */
+    private void layout(Model model, String activePage, HttpServletRequest request, HttpServletResponse response) {
+        model.addAttribute("activePage", activePage);
+        model.addAttribute("navbarHtml", fragmentRenderCache.render("layout/navbar", "navbar", "static",
+                Map.of(), request, response));
+        model.addAttribute("sidebarHtml", fragmentRenderCache.render("layout/sidebar", "sidebar", activePage,
+                Map.of("activePage", activePage), request, response));
+    }
+}
@@ -0,0 +1,65 @@
+package org.oms.orderingmanagementsystem.controllers;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.dtos.request.ReportRequest;
+import org.oms.orderingmanagementsystem.dtos.response.ReportJobResponse;
+import org.oms.orderingmanagementsystem.services.interfaces.ReportJobServiceInterface;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Report chạy nền: POST tạo job (202 + id), GET poll trạng thái, tải CSV khi COMPLETED.
+ */
+@RestController
+@RequestMapping("api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportJobServiceInterface reportJobService;
+
+    @PostMapping
+    ResponseEntity<ReportJobResponse> submit(@Valid @RequestBody ReportRequest request) {
+        ReportJobResponse job = reportJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("{id}")
+    ResponseEntity<ReportJobResponse> status(@PathVariable String id) {
+        return ResponseEntity.of(reportJobService.find(id));
+    }
+
+    @GetMapping("{id}/download")
+    ResponseEntity<Resource> download(@PathVariable String id) {
+        Optional<ReportJobResponse> job = reportJobService.find(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> file = reportJobService.file(id);
+        if (file.isEmpty()) {
+            // chưa chạy xong (hoặc lỗi): client poll lại status
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.get().getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file.get()));
+    }
+}
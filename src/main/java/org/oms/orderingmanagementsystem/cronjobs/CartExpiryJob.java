@@ -0,0 +1,48 @@
+package org.oms.orderingmanagementsystem.cronjobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.oms.orderingmanagementsystem.services.interfaces.CartExpiryServiceInterface;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nạp timing wheel hết hạn cart lúc khởi động (thread riêng, không chặn startup), sau đó
+ * cứ poll-ms lại quay wheel và xoá các cart vừa tới hạn. Cart tới hạn trong lúc đang nạp
+ * được xoá ở các lần quay sau.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.carts.expiry.enabled", havingValue = "true")
+public class CartExpiryJob implements ApplicationRunner {
+
+    private final CartExpiryServiceInterface cartExpiryService;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        Thread.ofPlatform().name("cart-expiry-rebuild").daemon().start(() -> {
+            try {
+                cartExpiryService.rebuild();
+            } catch (RuntimeException e) {
+                log.error("Cart expiry wheel rebuild failed, only carts touched since startup will expire", e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.carts.expiry.poll-ms:1000}")
+    public void expire() {
+        try {
+            int deleted = cartExpiryService.expireDue();
+            if (deleted > 0) {
+                log.info("Expired {} abandoned carts ({} tracked)", deleted, cartExpiryService.tracked());
+            }
+        } catch (RuntimeException e) {
+            log.error("Cart expiry failed, retrying next poll", e);
+        }
+    }
+}
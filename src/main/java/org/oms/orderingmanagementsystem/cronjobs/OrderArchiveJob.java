@@ -0,0 +1,53 @@
+package org.oms.orderingmanagementsystem.cronjobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.securities.configs.OrderArchiveProperties;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chạy hằng đêm: bổ sung partition archive, rồi chuyển đơn đã đóng sang archive
+ * theo từng batch nhỏ (mỗi batch một transaction), nghỉ giữa các batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.orders.archive.enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private final OrderArchiveServiceInterface orderArchiveService;
+    private final OrderArchiveProperties properties;
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 30 2 * * *}")
+    public void run() {
+        try {
+            orderArchiveService.maintainPartitions();
+        } catch (RuntimeException e) {
+            // partition lỗi không chặn archive: row rơi vào p_future
+            log.error("Archive partition maintenance failed", e);
+        }
+
+        LocalDateTime cutoff = orderArchiveService.cutoff();
+        long started = System.currentTimeMillis();
+        int total = 0;
+        try {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                int moved = orderArchiveService.archiveBatch(cutoff);
+                total += moved;
+                if (moved < properties.getBatchSize()) break;
+                Thread.sleep(properties.getPauseBetweenBatchesMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            orderArchiveService.refreshArchivedCount();
+            log.info("Archived {} closed orders created before {} in {} ms",
+                    total, cutoff, System.currentTimeMillis() - started);
+        }
+    }
+}
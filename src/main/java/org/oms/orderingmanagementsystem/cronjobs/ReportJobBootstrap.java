@@ -0,0 +1,34 @@
+package org.oms.orderingmanagementsystem.cronjobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.oms.orderingmanagementsystem.services.interfaces.ReportJobServiceInterface;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job report đang chạy / đang chờ khi app tắt sẽ chạy tiếp từ checkpoint sau khi khởi động.
+ * Service report lấy qua ObjectProvider trên thread riêng: với lazy-initialization (profile fast-startup)
+ * runner vẫn được tạo lúc khởi động, nhưng ReportJobService và executor của nó thì không.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobBootstrap implements ApplicationRunner {
+
+    private final ObjectProvider<ReportJobServiceInterface> reportJobService;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        Thread.ofPlatform().name("report-job-resume").daemon().start(() -> {
+            try {
+                reportJobService.getObject().resumeInterrupted();
+            } catch (RuntimeException e) {
+                log.error("Resuming interrupted report jobs failed, they stay RUNNING / QUEUED", e);
+            }
+        });
+    }
+}
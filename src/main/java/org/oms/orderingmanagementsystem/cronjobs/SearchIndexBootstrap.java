@@ -0,0 +1,54 @@
+package org.oms.orderingmanagementsystem.cronjobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.oms.orderingmanagementsystem.services.impls.SearchIndexService;
+import org.oms.orderingmanagementsystem.services.interfaces.UserTrigramIndexServiceInterface;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Build lại search index (Lucene) và trigram index (chỉ nằm trong RAM) lúc khởi động
+ * trên các thread riêng để không chặn startup.
+ * Trong lúc build, keyword search tự fallback về LIKE.
+ * Trigram index lấy qua ObjectProvider trên thread build, nên với lazy-initialization nó không
+ * được tạo trên thread khởi động (SearchIndexService thì có, vì đường đọc đơn hàng dùng nó).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexBootstrap implements ApplicationRunner {
+
+    private final SearchIndexService searchIndexService;
+    private final ObjectProvider<UserTrigramIndexServiceInterface> userTrigramIndexService;
+
+    @Value("${search.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        Thread.ofPlatform().name("trigram-index-rebuild").daemon().start(() -> {
+            try {
+                userTrigramIndexService.getObject().rebuild();
+            } catch (RuntimeException e) {
+                log.error("User trigram index rebuild failed, phone/email search stays on prefix LIKE", e);
+            }
+        });
+
+        if (!rebuildOnStartup && searchIndexService.docCount() > 0) {
+            searchIndexService.markReady();
+            return;
+        }
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(() -> {
+            try {
+                searchIndexService.rebuild();
+            } catch (RuntimeException e) {
+                log.error("Search index rebuild failed, keyword search stays on LIKE", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package org.oms.orderingmanagementsystem.dtos.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+
+@Data
+public class OrderStatusRequest {
+    @NotNull
+    private OrderStatus status;
+
+    // version client đã thấy (order detail ETag); null = chỉ kiểm tra bảng chuyển trạng thái
+    private Long expectedVersion;
+}
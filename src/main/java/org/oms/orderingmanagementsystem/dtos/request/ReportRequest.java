@@ -0,0 +1,17 @@
+package org.oms.orderingmanagementsystem.dtos.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.oms.orderingmanagementsystem.entities.ReportType;
+
+import java.time.YearMonth;
+
+@Data
+public class ReportRequest {
+    @NotNull
+    private ReportType type;
+
+    // "2026-10"
+    @NotNull
+    private YearMonth month;
+}
@@ -0,0 +1,22 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Một delta đẩy qua SSE: counters chỉ có giá trị khi thay đổi (null = giữ nguyên),
+ * newOrders / newActivities là các dòng mới kể từ delta trước.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaResponse {
+    private Long totalUsers;
+    private Long totalOrders;
+    private BigDecimal totalRevenue;
+    private List<RecentOrderResponse> newOrders;
+    private List<RecentActivityResponse> newActivities;
+}
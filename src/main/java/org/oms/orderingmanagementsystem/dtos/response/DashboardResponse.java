@@ -3,6 +3,7 @@ package org.oms.orderingmanagementsystem.dtos.response;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -12,7 +13,7 @@ public class DashboardResponse {
     private Long totalUsers;
     private Long totalOrders;
     private Long totalProducts;
-    private Double totalRevenue;
+    private BigDecimal totalRevenue;
     private List<RecentOrderResponse> recentOrders;
     private List<RecentActivityResponse> recentActivities;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Các đơn thay đổi sau token, cũ nhất trước. Lần poll sau gửi nextToken; hasMore = true thì
+ * gọi tiếp ngay, còn lại chờ tới chu kỳ poll kế tiếp.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangesResponse {
+    private List<OrderResponse> items;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class OrderDetailResponse {
+    private Long id;
+    private String status;
+    private String username;
+    private BigDecimal subtotal;
+    private LocalDateTime createdAt;
+    private List<OrderItemResponse> items;
+}
@@ -0,0 +1,16 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Một trang order feed của user; nextCursor = null khi đã hết đơn. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFeedResponse {
+    private List<OrderResponse> items;
+    private String nextCursor;
+}
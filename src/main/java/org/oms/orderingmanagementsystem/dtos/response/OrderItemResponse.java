@@ -9,4 +9,5 @@ public class OrderItemResponse {
     private String productName;
     private int quantity;
     private BigDecimal priceAtOrder;
+    private BigDecimal subtotal;
 }
@@ -0,0 +1,15 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Trạng thái + version của đơn sau khi chuyển (hoặc hiện tại, nếu đơn đã ở trạng thái yêu cầu). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+    private Long id;
+    private String status;
+    private long version;
+}
@@ -3,6 +3,7 @@ package org.oms.orderingmanagementsystem.dtos.response;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -12,7 +13,7 @@ public class RecentOrderResponse {
     private Long id;
     private String orderNumber;
     private String customerName;
-    private Double totalAmount;
+    private BigDecimal totalAmount;
     private String status;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.oms.orderingmanagementsystem.dtos.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class ReportJobResponse {
+    private String id;
+    private String type;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String status;
+    private long processedOrders;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // chỉ có khi status = COMPLETED
+    private String downloadUrl;
+}
@@ -0,0 +1,51 @@
+package org.oms.orderingmanagementsystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Đơn hàng đã đóng (COMPLETED / CANCELLED) được chuyển khỏi bảng orders sau N tháng.
+ *
+ * - Giữ nguyên id gốc, nên kết quả gộp với bảng nóng vẫn sắp xếp đúng theo id.
+ * - Khoá chính (created_at, id) để bảng có thể partition theo tháng trên created_at
+ *   (MySQL yêu cầu cột partition nằm trong mọi unique key). Tra theo id riêng đi qua idx_order_archive_id.
+ * - Không có FK: bảng partition InnoDB không hỗ trợ foreign key.
+ * - subtotal được tính sẵn lúc archive, đọc danh sách không cần join order_item_archive.
+ */
+@Entity
+@Table(
+        name = "orders_archive",
+        indexes = {
+                @Index(name = "idx_order_archive_user", columnList = "user_id, created_at"),
+                @Index(name = "idx_order_archive_created", columnList = "created_at, id"),
+                @Index(name = "idx_order_archive_id", columnList = "id")
+        }
+)
+@IdClass(ArchivedOrderId.class)
+@Data
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Id
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private Money subtotal;
+
+    private LocalDateTime archivedAt;
+
+    // version của đơn lúc archive, giữ nguyên ETag khi đơn chuyển sang archive
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+}
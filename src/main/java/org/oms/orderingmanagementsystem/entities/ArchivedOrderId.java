@@ -0,0 +1,16 @@
+package org.oms.orderingmanagementsystem.entities;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ArchivedOrderId implements Serializable {
+    private Long id;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package org.oms.orderingmanagementsystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item của đơn đã archive. order_created_at lặp lại created_at của đơn để partition
+ * cùng tháng với orders_archive.
+ */
+@Entity
+@Table(
+        name = "order_item_archive",
+        indexes = {
+                @Index(name = "idx_order_item_archive_order", columnList = "order_id")
+        }
+)
+@IdClass(ArchivedOrderItemId.class)
+@Data
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @Id
+    private LocalDateTime orderCreatedAt;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    private int quantity;
+
+    private Money priceAtOrder;
+
+    private Money subtotal;
+}
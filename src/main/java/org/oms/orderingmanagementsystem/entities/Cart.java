@@ -1,20 +1,26 @@
 package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangeListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(EntityChangeListener.class)
 @Table(
         name = "carts",
         indexes = {
-                @Index(name = "idx_cart_user", columnList = "user_id", unique = true)
+                @Index(name = "idx_cart_user", columnList = "user_id", unique = true),
+                // nạp lại timing wheel hết hạn cart lúc khởi động (keyset)
+                @Index(name = "idx_cart_last_activity", columnList = "last_activity, id")
         }
 )
 public class Cart {
@@ -25,5 +31,14 @@ public class Cart {
 
     @OneToOne
     private User user;
+
+    /**
+     * Lần cuối cart có thay đổi, theo giờ DB: default lúc insert, trigger trên cart_item (V5)
+     * và CartExpiryService.touch. App không set.
+     * Cart không hoạt động quá app.carts.expiry.ttl-ms bị xoá.
+     */
+    @Column(name = "last_activity", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "datetime(6) not null default current_timestamp(6)")
+    private LocalDateTime lastActivity;
 }
 
@@ -2,6 +2,7 @@ package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangeListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,13 +11,19 @@ import java.util.List;
 @Table(
         name = "orders",
         indexes = {
-                @Index(name = "idx_order_user", columnList = "user_id"),
-                @Index(name = "idx_order_user_status", columnList = "user_id, status"),
+                // covering index cho order feed theo user (keyset created_at, id)
+                @Index(name = "idx_order_user_created", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_order_user_status_created", columnList = "user_id, status, created_at, id"),
+                // danh sách đơn theo trạng thái, sort created_at (status=...&sort=createdAt)
+                @Index(name = "idx_order_status_created", columnList = "status, created_at, id"),
                 @Index(name = "idx_order_created_at", columnList = "created_at"),
-                @Index(name = "idx_order_created_pagination", columnList = "created_at DESC, id")
+                @Index(name = "idx_order_created_pagination", columnList = "created_at DESC, id"),
+                // keyset của delta sync (GET /api/order/changes)
+                @Index(name = "idx_order_updated", columnList = "updated_at, id")
         }
 )
 @Data
+@EntityListeners(EntityChangeListener.class)
 public class Order {
 
     @Id
@@ -51,6 +58,22 @@ public class Order {
     private List<OrderItem> items;
 
     private LocalDateTime createdAt;
+
+    /**
+     * Thời điểm đơn (hoặc item của đơn, qua trigger trên order_item - xem V3) thay đổi lần cuối.
+     * DB tự ghi (ON UPDATE), nên cả update JPA lẫn native SQL đều đánh dấu; app không set.
+     */
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "datetime(6) not null default current_timestamp(6) on update current_timestamp(6)")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Tăng mỗi lần đơn được update qua JPA (optimistic lock), dùng làm ETag của order detail.
+     * default 0 để cột thêm vào bảng có sẵn dữ liệu không bị null.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
 }
 
 
@@ -2,8 +2,8 @@ package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.oms.orderingmanagementsystem.commons.money.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -30,7 +30,7 @@ public class OrderItem {
 
     private int quantity;
 
-    private BigDecimal priceAtOrder;
+    private Money priceAtOrder;
 
-    private BigDecimal subtotal;
+    private Money subtotal;
 }
@@ -1,10 +1,29 @@
 package org.oms.orderingmanagementsystem.entities;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     PAID,
     CANCELLED,
     SHIPPED,
-    COMPLETED
-}
+    COMPLETED;
 
+    /**
+     * Bảng chuyển trạng thái hợp lệ: PENDING -> PAID -> SHIPPED -> COMPLETED, huỷ được trước khi giao.
+     * COMPLETED / CANCELLED là trạng thái cuối (đơn đóng, có thể bị archive).
+     */
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PAID, CANCELLED);
+            case PAID -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(COMPLETED);
+            case CANCELLED, COMPLETED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next().contains(target);
+    }
+}
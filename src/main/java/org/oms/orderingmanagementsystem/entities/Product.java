@@ -1,7 +1,10 @@
 package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangeListener;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -14,6 +17,8 @@ import java.math.BigDecimal;
                 @Index(name = "idx_product_name", columnList = "name")
         }
 )
+@EntityListeners(EntityChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
 
     @Id
@@ -0,0 +1,68 @@
+package org.oms.orderingmanagementsystem.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Một job report chạy nền. Checkpoint (nguồn đang đọc, keyset createdAt / id của đơn cuối
+ * đã xử lý, kết quả cộng dồn) được lưu sau mỗi chunk, nên job bị gián đoạn (restart)
+ * chạy tiếp từ chunk kế tiếp thay vì làm lại từ đầu.
+ */
+@Entity
+@Table(
+        name = "report_jobs",
+        indexes = {
+                @Index(name = "idx_report_job_status", columnList = "status")
+        }
+)
+@Data
+public class ReportJob {
+
+    // UUID: id đoán được thì ai cũng tải được file report
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportType type;
+
+    // khoảng [periodStart, periodEnd) theo orders.created_at
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private LocalDate periodEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    // nguồn đang đọc: ORDERS (bảng nóng) rồi ARCHIVE
+    private String phase;
+
+    private LocalDateTime checkpointCreatedAt;
+
+    private Long checkpointId;
+
+    private long processedOrders;
+
+    // kết quả cộng dồn tới checkpoint (JSON)
+    @Lob
+    @Column(columnDefinition = "longtext")
+    private String state;
+
+    private String filePath;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
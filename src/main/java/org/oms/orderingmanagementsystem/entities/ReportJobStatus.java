@@ -0,0 +1,8 @@
+package org.oms.orderingmanagementsystem.entities;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
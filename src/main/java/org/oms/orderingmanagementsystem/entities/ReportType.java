@@ -0,0 +1,10 @@
+package org.oms.orderingmanagementsystem.entities;
+
+public enum ReportType {
+    // doanh thu theo product category (không tính đơn CANCELLED)
+    REVENUE_BY_CATEGORY,
+    // khách hàng có doanh thu cao nhất (không tính đơn CANCELLED)
+    TOP_CUSTOMERS,
+    // số đơn và tổng tiền theo trạng thái
+    STATUS_BREAKDOWN
+}
@@ -1,7 +1,12 @@
 package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangeListener;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +22,7 @@ import java.util.Set;
         }
 )
 
+@EntityListeners(EntityChangeListener.class)
 public class User {
 
     @Id
@@ -30,5 +36,13 @@ public class User {
     private String password;
     private String phone;
     private String address;
+
+    // Association dùng bởi UserFethchSpecification.hasRole; collection cache chỉ giữ id,
+    // các UserRole / Role tương ứng được lấy từ region riêng của chúng
+    @OneToMany(mappedBy = "user")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles-collection")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<UserRole> userRoles = new HashSet<>();
 }
 
@@ -2,9 +2,12 @@ package org.oms.orderingmanagementsystem.entities;
 
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "user_role")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
 public class UserRole {
 
     @EmbeddedId
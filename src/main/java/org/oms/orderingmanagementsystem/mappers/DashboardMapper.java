@@ -0,0 +1,36 @@
+package org.oms.orderingmanagementsystem.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.dtos.response.RecentActivityResponse;
+import org.oms.orderingmanagementsystem.dtos.response.RecentOrderResponse;
+import org.oms.orderingmanagementsystem.entities.Notification;
+import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.entities.OrderItem;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
+public interface DashboardMapper {
+
+    @Mapping(target = "orderNumber", expression = "java(\"ORD-\" + order.getId())")
+    @Mapping(target = "customerName", source = "user.name")
+    // items batch-load theo default_batch_size: cần gọi trong transaction
+    @Mapping(target = "totalAmount", expression = "java(calculateTotal(order).toBigDecimal())")
+    RecentOrderResponse toRecentOrder(Order order);
+
+    List<RecentOrderResponse> toRecentOrders(List<Order> orders);
+
+    @Mapping(target = "type", constant = "NOTIFICATION")
+    @Mapping(target = "description", source = "message")
+    @Mapping(target = "icon", constant = "fas fa-bell")
+    @Mapping(target = "color", constant = "text-info")
+    RecentActivityResponse toRecentActivity(Notification notification);
+
+    List<RecentActivityResponse> toRecentActivities(List<Notification> notifications);
+
+    default Money calculateTotal(Order order) {
+        return Money.sum(order.getItems(), OrderItem::getSubtotal);
+    }
+}
@@ -0,0 +1,19 @@
+package org.oms.orderingmanagementsystem.mappers;
+
+import org.mapstruct.Mapper;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+
+import java.math.BigDecimal;
+
+/** Money (entity) <-> BigDecimal (DTO response): MapStruct tự dùng cho các field cùng tên khác kiểu. */
+@Mapper(componentModel = "spring")
+public interface MoneyMapper {
+
+    default BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    default Money toMoney(BigDecimal value) {
+        return Money.of(value);
+    }
+}
@@ -1,25 +1,45 @@
 package org.oms.orderingmanagementsystem.mappers;
 
-import org.aspectj.weaver.ast.Or;
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.dtos.response.OrderDetailResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderItemResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrder;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrderItem;
 import org.oms.orderingmanagementsystem.entities.Order;
 import org.oms.orderingmanagementsystem.entities.OrderItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface OrderMapper {
 
     @Mapping(target = "username", source = "user.name")
-    @Mapping(target = "subtotal", expression = "java(calculateSubtotal(order))")
+    @Mapping(target = "subtotal", expression = "java(calculateSubtotal(order).toBigDecimal())")
     OrderResponse toResponse(Order order);
 
+    // subtotal đã tính sẵn lúc archive
+    @Mapping(target = "username", source = "user.name")
+    OrderResponse toResponse(ArchivedOrder order);
+
+    @Mapping(target = "username", source = "user.name")
+    @Mapping(target = "subtotal", expression = "java(calculateSubtotal(order).toBigDecimal())")
+    OrderDetailResponse toDetailResponse(Order order);
+
+    @Mapping(target = "username", source = "user.name")
+    @Mapping(target = "items", ignore = true)
+    OrderDetailResponse toDetailResponse(ArchivedOrder order);
+
+    @Mapping(target = "productName", ignore = true)
+    OrderItemResponse toItemResponse(ArchivedOrderItem item);
+
     @Mapping(target = "productName", source = "product.name")
     OrderItemResponse toItemResponse(OrderItem item);
 
@@ -31,9 +51,23 @@ public interface OrderMapper {
         return orders.map(this::toResponse);
     }
 
-    default BigDecimal calculateSubtotal(Order order) {
-        return order.getItems().stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Dòng projection (alias id, status, username, subtotal, createdAt) của ProjectionQuery.
+     * subtotal là BigDecimal với HOT_LIST (SUM) và Money với ARCHIVE_LIST (cột có converter).
+     */
+    default OrderResponse toResponse(Tuple row) {
+        OrderResponse response = new OrderResponse();
+        response.setId(row.get("id", Long.class));
+        Object status = row.get("status");
+        response.setStatus(status == null ? null : status.toString());
+        response.setUsername(row.get("username", String.class));
+        Object subtotal = row.get("subtotal");
+        response.setSubtotal(subtotal == null ? BigDecimal.ZERO : Money.from(subtotal).toBigDecimal());
+        response.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+        return response;
+    }
+
+    default Money calculateSubtotal(Order order) {
+        return Money.sum(order.getItems(), OrderItem::getSubtotal);
     }
 }
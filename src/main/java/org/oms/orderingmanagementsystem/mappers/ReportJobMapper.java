@@ -0,0 +1,18 @@
+package org.oms.orderingmanagementsystem.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.oms.orderingmanagementsystem.dtos.response.ReportJobResponse;
+import org.oms.orderingmanagementsystem.entities.ReportJob;
+import org.oms.orderingmanagementsystem.entities.ReportJobStatus;
+
+@Mapper(componentModel = "spring")
+public interface ReportJobMapper {
+
+    @Mapping(target = "downloadUrl", expression = "java(downloadUrl(job))")
+    ReportJobResponse toResponse(ReportJob job);
+
+    default String downloadUrl(ReportJob job) {
+        return job.getStatus() == ReportJobStatus.COMPLETED ? "/api/reports/" + job.getId() + "/download" : null;
+    }
+}
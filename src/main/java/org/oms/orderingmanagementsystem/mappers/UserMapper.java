@@ -1,5 +1,6 @@
 package org.oms.orderingmanagementsystem.mappers;
 
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
 import org.oms.orderingmanagementsystem.dtos.response.UserResponse;
 import org.oms.orderingmanagementsystem.entities.User;
@@ -16,4 +17,13 @@ public interface UserMapper {
         return users.map(this::toResponse);
     }
 
+    /** Dòng projection (alias id, name, email, phone) của ProjectionQuery. */
+    default UserResponse toResponse(Tuple row) {
+        return new UserResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("phone", String.class));
+    }
+
 }
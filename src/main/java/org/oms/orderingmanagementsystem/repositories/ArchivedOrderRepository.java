@@ -0,0 +1,59 @@
+package org.oms.orderingmanagementsystem.repositories;
+
+import org.oms.orderingmanagementsystem.entities.ArchivedOrder;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrderId;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, ArchivedOrderId>,
+        JpaSpecificationExecutor<ArchivedOrder> {
+
+    // idx_order_archive_id (PK là (created_at, id), không tra được theo id)
+    @EntityGraph(attributePaths = "user")
+    Optional<ArchivedOrder> findFirstById(Long id);
+
+    @Query("SELECT a.version FROM ArchivedOrder a WHERE a.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // item đã archive kèm tên product (product có thể đã bị xoá -> null);
+    // orderCreatedAt để MySQL chỉ đọc partition của đơn thay vì dò idx_order_item_archive_order ở mọi partition
+    @Query("""
+            SELECT i, p.name FROM ArchivedOrderItem i LEFT JOIN Product p ON p.id = i.productId
+            WHERE i.orderId = :orderId AND i.orderCreatedAt = :orderCreatedAt ORDER BY i.id""")
+    List<Object[]> findItemsWithProductName(Long orderId, LocalDateTime orderCreatedAt);
+
+    // Report: như OrderRepository.findReportChunk, subtotal đã tính sẵn lúc archive
+    @Query("""
+            SELECT a.id, a.createdAt, a.status, a.user.id, a.subtotal FROM ArchivedOrder a
+            WHERE a.createdAt >= :from AND a.createdAt < :to
+              AND (a.createdAt > :afterCreatedAt OR (a.createdAt = :afterCreatedAt AND a.id > :afterId))
+            ORDER BY a.createdAt, a.id""")
+    List<Object[]> findReportChunk(LocalDateTime from, LocalDateTime to,
+                                   LocalDateTime afterCreatedAt, Long afterId, Limit limit);
+
+    // Report TOP_CUSTOMERS: như OrderRepository.sumByUser, đi theo idx_order_archive_user
+    @Query("""
+            SELECT a.user.id, COUNT(a), SUM(a.subtotal) FROM ArchivedOrder a
+            WHERE a.user.id IN :userIds AND a.createdAt >= :from AND a.createdAt < :to AND a.status <> :excluded
+            GROUP BY a.user.id""")
+    List<Object[]> sumByUser(Collection<Long> userIds, LocalDateTime from, LocalDateTime to, OrderStatus excluded);
+
+    // Report: theo category; điều kiện orderCreatedAt để MySQL chỉ đọc partition của kỳ report
+    @Query("""
+            SELECT p.category, COUNT(DISTINCT i.orderId), SUM(i.subtotal)
+            FROM ArchivedOrderItem i LEFT JOIN Product p ON p.id = i.productId
+            WHERE i.orderId IN :orderIds AND i.orderCreatedAt >= :from AND i.orderCreatedAt < :to
+            GROUP BY p.category""")
+    List<Object[]> sumSubtotalByCategory(Collection<Long> orderIds, LocalDateTime from, LocalDateTime to);
+}
@@ -1,9 +1,45 @@
 package org.oms.orderingmanagementsystem.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.oms.orderingmanagementsystem.entities.Cart;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    // giờ của DB, như default của cột và trigger trên cart_item
+    @Transactional
+    @Modifying
+    @Query("UPDATE Cart c SET c.lastActivity = CURRENT_TIMESTAMP WHERE c.id = :id")
+    int touch(Long id);
+
+    // Nạp lại wheel hết hạn: keyset trên idx_cart_last_activity (last_activity, id), trả [id, lastActivity]
+    @Query("""
+            SELECT c.id, c.lastActivity FROM Cart c
+            WHERE c.lastActivity > :afterActivity OR (c.lastActivity = :afterActivity AND c.id > :afterId)
+            ORDER BY c.lastActivity, c.id""")
+    List<Object[]> findActivityAfter(LocalDateTime afterActivity, Long afterId, Limit limit);
+
+    // Khoá các cart sắp xoá (touch đồng thời phải chờ) và đọc lại last_activity, trả [id, lastActivity]
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id, c.lastActivity FROM Cart c WHERE c.id IN :ids")
+    List<Object[]> lockActivity(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.id.cartId IN :cartIds")
+    int deleteItemsByCartIds(Collection<Long> cartIds);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 }
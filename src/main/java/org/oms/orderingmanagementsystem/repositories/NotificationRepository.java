@@ -1,11 +1,27 @@
 package org.oms.orderingmanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.oms.orderingmanagementsystem.entities.Notification; // Nhớ import entity Notification
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
+@Transactional(readOnly = true)
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    // Thêm dòng này vào đây
+    // Thêm dòng này vào đây (query cache, xem OrderRepository.findTop5ByOrderByCreatedAtDesc)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "dashboard-top-n")
+    })
     List<Notification> findTop10ByOrderByCreatedAtDesc();
+
+    // Thông báo mới hơn id đã biết (live dashboard stream)
+    List<Notification> findTop20ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n")
+    Long findMaxId();
 }
\ No newline at end of file
@@ -1,29 +1,118 @@
 package org.oms.orderingmanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.oms.orderingmanagementsystem.commons.money.Money;
 import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
 import org.oms.orderingmanagementsystem.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface OrderRepository extends JpaRepository<Order, Long> , JpaSpecificationExecutor<Order> {
 
-    // 1. Lấy 5 đơn hàng mới nhất
+    // 1. Lấy 5 đơn hàng mới nhất (kèm user trong cùng một query).
+    // Query cache: kết quả bị Hibernate invalidate mỗi khi bảng orders thay đổi
+    @EntityGraph(attributePaths = "user")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "dashboard-top-n")
+    })
     List<Order> findTop5ByOrderByCreatedAtDesc();
 
-    // 2. Tính tổng doanh thu - HÃY KIỂM TRA TÊN BIẾN TRONG ORDER.JAVA
-    // Nếu trong Order.java bạn đặt là totalPrice thì sửa o.totalAmount thành o.totalPrice
-    @Query("SELECT COALESCE(SUM(o.id), 0.0) FROM Order o")
-    Double calculateTotalRevenue();
+    // Đơn hàng mới hơn id đã biết (live dashboard stream), kèm user
+    @EntityGraph(attributePaths = "user")
+    List<Order> findTop20ByIdGreaterThanOrderByIdAsc(Long id);
 
+    // Order detail: order + user + items + product trong MỘT query (join theo entity graph)
+    @EntityGraph(attributePaths = {"user", "items", "items.product"})
+    Optional<Order> findDetailById(Long id);
+
+    // chỉ đọc version để so If-None-Match, không load aggregate
+    @Query("SELECT o.version FROM Order o WHERE o.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // trạng thái + version hiện tại cho compare-and-set, không load entity / items
+    @Query("SELECT o.id AS id, o.user.id AS userId, o.status AS status, o.version AS version FROM Order o WHERE o.id = :id")
+    Optional<StatusSnapshot> findStatusById(Long id);
+
+    /**
+     * Compare-and-set trạng thái: chỉ update khi đơn vẫn đúng (status, version) đã đọc.
+     * 0 dòng = đã có ghi khác chen vào, đọc lại rồi thử lại. Không SELECT ... FOR UPDATE,
+     * chỉ giữ row lock trong chính câu UPDATE.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Order o SET o.status = :to, o.version = o.version + 1
+            WHERE o.id = :id AND o.status = :from AND o.version = :version""")
+    int compareAndSetStatus(Long id, OrderStatus from, long version, OrderStatus to);
+
+    // Report: chunk đơn trong [from, to) sau keyset (afterCreatedAt, afterId), đi theo index created_at
     @Query("""
-        SELECT o FROM Order o
-        WHERE (:spec IS NULL OR 1=1)
-    """)
-    Page<Order> findAllSlice(Specification<Order> spec, Pageable pageable);
+            SELECT o.id, o.createdAt, o.status, o.user.id FROM Order o
+            WHERE o.createdAt >= :from AND o.createdAt < :to
+              AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId))
+            ORDER BY o.createdAt, o.id""")
+    List<Object[]> findReportChunk(LocalDateTime from, LocalDateTime to,
+                                   LocalDateTime afterCreatedAt, Long afterId, Limit limit);
+
+    // Report TOP_CUSTOMERS: số đơn và doanh thu của một lô user trong kỳ, đi theo idx_order_user_created
+    @Query("""
+            SELECT o.user.id, COUNT(DISTINCT o.id), SUM(i.subtotal) FROM Order o LEFT JOIN o.items i
+            WHERE o.user.id IN :userIds AND o.createdAt >= :from AND o.createdAt < :to AND o.status <> :excluded
+            GROUP BY o.user.id""")
+    List<Object[]> sumByUser(Collection<Long> userIds, LocalDateTime from, LocalDateTime to, OrderStatus excluded);
+
+    // Report: subtotal từng đơn của một chunk
+    @Query("SELECT i.order.id, SUM(i.subtotal) FROM OrderItem i WHERE i.order.id IN :orderIds GROUP BY i.order.id")
+    List<Object[]> sumSubtotalByOrder(Collection<Long> orderIds);
+
+    // Report: số đơn và doanh thu theo category của một chunk
+    @Query("""
+            SELECT p.category, COUNT(DISTINCT i.order.id), SUM(i.subtotal)
+            FROM OrderItem i LEFT JOIN i.product p
+            WHERE i.order.id IN :orderIds GROUP BY p.category""")
+    List<Object[]> sumSubtotalByCategory(Collection<Long> orderIds);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+    Long findMaxId();
+
+    /**
+     * Doanh thu của bảng nóng = tổng subtotal các đơn chưa huỷ (null khi chưa có đơn nào).
+     * Đơn đã archive: OrderArchiveServiceInterface.archivedRevenue().
+     */
+    @Query("SELECT SUM(i.subtotal) FROM OrderItem i WHERE i.order.status <> :excluded")
+    BigDecimal sumRevenue(OrderStatus excluded);
+
+    default Money calculateTotalRevenue() {
+        BigDecimal revenue = sumRevenue(OrderStatus.CANCELLED);
+        return revenue != null ? Money.of(revenue) : Money.ZERO;
+    }
+
+    interface StatusSnapshot {
+        Long getId();
+
+        Long getUserId();
+
+        OrderStatus getStatus();
+
+        long getVersion();
+    }
 }
\ No newline at end of file
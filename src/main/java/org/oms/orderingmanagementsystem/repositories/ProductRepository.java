@@ -0,0 +1,26 @@
+package org.oms.orderingmanagementsystem.repositories;
+
+import org.oms.orderingmanagementsystem.entities.Product;
+import org.oms.orderingmanagementsystem.repositories.views.ProductSearchView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Stream projection (không managed entity) để build lại search index
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = UserRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.name AS name, p.category AS category, p.description AS description FROM Product p")
+    Stream<ProductSearchView> streamSearchViews();
+}
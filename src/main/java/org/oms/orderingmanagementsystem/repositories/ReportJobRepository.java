@@ -0,0 +1,13 @@
+package org.oms.orderingmanagementsystem.repositories;
+
+import org.oms.orderingmanagementsystem.entities.ReportJob;
+import org.oms.orderingmanagementsystem.entities.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    List<ReportJob> findByStatusInOrderByCreatedAtAsc(Collection<ReportJobStatus> statuses);
+}
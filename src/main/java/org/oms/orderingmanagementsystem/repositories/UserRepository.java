@@ -1,6 +1,9 @@
 package org.oms.orderingmanagementsystem.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.oms.orderingmanagementsystem.entities.User;
+import org.oms.orderingmanagementsystem.repositories.views.UserSearchView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -9,13 +12,36 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    // Integer.MIN_VALUE: MySQL Connector/J stream từng row thay vì load cả result set vào heap
+    String STREAM_FETCH_SIZE = "-2147483648";
+
+    // Report TOP_CUSTOMERS: keyset trên PK, từng lô user
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(Long afterId, Limit limit);
+
     @Query("""
         SELECT u FROM User u
         WHERE (:spec IS NULL OR 1=1)
     """)
     Page<User> findAllSlice(Specification<User> spec, Pageable pageable);
+
+    // Stream projection (không managed entity) để build lại search index
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.phone AS phone FROM User u")
+    Stream<UserSearchView> streamSearchViews();
 }
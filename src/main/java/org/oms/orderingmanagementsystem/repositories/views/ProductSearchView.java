@@ -0,0 +1,8 @@
+package org.oms.orderingmanagementsystem.repositories.views;
+
+public interface ProductSearchView {
+    Long getId();
+    String getName();
+    String getCategory();
+    String getDescription();
+}
@@ -0,0 +1,8 @@
+package org.oms.orderingmanagementsystem.repositories.views;
+
+public interface UserSearchView {
+    Long getId();
+    String getName();
+    String getEmail();
+    String getPhone();
+}
@@ -0,0 +1,21 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.oms.orderingmanagementsystem.commons.expiry.TimingWheel;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Xoá cart bỏ dở: hạn của từng cart (last_activity + ttl) nằm trong timing wheel trong RAM,
+ * nạp lại từ carts.last_activity lúc khởi động, nên không cần quét bảng định kỳ để tìm cart hết hạn.
+ */
+@Configuration
+@EnableConfigurationProperties(CartExpiryProperties.class)
+public class CartExpiryConfig {
+
+    /** key = cart id. Truy cập qua CartExpiryService (giữ lock của wheel). */
+    @Bean
+    public TimingWheel<Long> cartExpiryWheel(CartExpiryProperties properties) {
+        return new TimingWheel<>(properties.getTickMs(), System.currentTimeMillis());
+    }
+}
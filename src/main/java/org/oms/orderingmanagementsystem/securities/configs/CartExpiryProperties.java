@@ -0,0 +1,29 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.carts.expiry")
+public class CartExpiryProperties {
+
+    private boolean enabled = false;
+
+    // cart không có hoạt động (carts.last_activity) lâu hơn chừng này thì bị xoá cùng item
+    private long ttlMs = 7L * 24 * 60 * 60 * 1000;
+
+    // độ phân giải của timing wheel: cart hết hạn trễ nhất một tick + poll-ms
+    private long tickMs = 1000;
+
+    // khoảng nghỉ giữa các lần quay wheel / xoá
+    private long pollMs = 1000;
+
+    // số cart mỗi transaction xoá; nhỏ để lock ngắn
+    private int chunkSize = 500;
+
+    // giới hạn mỗi lần quay, phần còn lại để lần sau
+    private int maxChunksPerRun = 20;
+
+    // số dòng mỗi query khi nạp lại wheel từ carts lúc khởi động
+    private int rebuildChunkSize = 5000;
+}
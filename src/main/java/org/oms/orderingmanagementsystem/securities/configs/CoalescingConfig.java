@@ -0,0 +1,54 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oms.orderingmanagementsystem.commons.coalescing.RequestCoalescer;
+import org.oms.orderingmanagementsystem.dtos.response.DashboardResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+
+/**
+ * Gộp các request giống hệt nhau đang chạy đồng thời (xem RequestCoalescer).
+ * app.coalescing.enabled=false: mọi request tự query như trước.
+ * ttl-ms là độ trễ tối đa một thay đổi mới có thể bị "không thấy" trên danh sách / dashboard.
+ */
+@Configuration
+public class CoalescingConfig {
+
+    @Value("${app.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.coalescing.ttl-ms:300}")
+    private long ttlMs;
+
+    @Value("${app.coalescing.max-keys:10000}")
+    private long maxKeys;
+
+    /** /api/order/v1: key = (page, size, sort, keyword, filter) đã chuẩn hoá trong OrderService. */
+    @Bean
+    public RequestCoalescer<Object, Page<OrderResponse>> orderListCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer<>("order-list", inFlight(), meterRegistry);
+    }
+
+    /** Trang dashboard: không có tham số, một key duy nhất. */
+    @Bean
+    public RequestCoalescer<Object, DashboardResponse> dashboardCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer<>("dashboard", inFlight(), meterRegistry);
+    }
+
+    private <K, V> AsyncCache<K, V> inFlight() {
+        if (!enabled) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, ttlMs)))
+                .buildAsync();
+    }
+}
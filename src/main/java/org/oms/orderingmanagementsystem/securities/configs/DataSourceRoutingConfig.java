@@ -0,0 +1,87 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oms.orderingmanagementsystem.commons.datasource.ReplicaHealthMonitor;
+import org.oms.orderingmanagementsystem.commons.datasource.ReplicaPool;
+import org.oms.orderingmanagementsystem.commons.datasource.ReplicaPoolDataSource;
+import org.oms.orderingmanagementsystem.commons.jdbc.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting: transaction readOnly đọc từ replica, còn lại ghi vào primary.
+ *
+ * LazyConnectionDataSourceProxy chỉ lấy connection thật ở statement đầu tiên,
+ * lúc đó Hibernate đã đánh dấu connection read-only theo @Transactional(readOnly = true),
+ * nên proxy chọn đúng read-only target (ReplicaPoolDataSource).
+ *
+ * Bật bằng app.datasource.routing.enabled=true; tắt thì dùng DataSource mặc định của Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(DataSourceRoutingProperties properties,
+                                                     DataSourceProperties primaryProperties,
+                                                     MeterRegistry meterRegistry) {
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(properties.getReplica().getPoolSize());
+            // mặc định Hikari chờ 30s: một replica chết làm health check của các replica sau đứng theo
+            dataSource.setConnectionTimeout(properties.getReplica().getConnectionTimeoutMs());
+            dataSource.setValidationTimeout(Math.max(250, properties.getReplica().getConnectionTimeoutMs() / 2));
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaPool(dataSource.getPoolName(), dataSource));
+        }
+        return new ReplicaHealthMonitor(replicas, properties.getReplica().getMaxLagSeconds(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 MeterRegistry meterRegistry,
+                                 Environment env,
+                                 ObjectProvider<SlowQueryLog> slowQueryLog) {
+        // đo JDBC bên dưới lazy proxy, nơi connection thật được lấy (xem SqlInstrumentationConfig)
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(
+                SqlInstrumentationConfig.instrument(primaryDataSource, env, slowQueryLog));
+        proxy.setReadOnlyDataSource(SqlInstrumentationConfig.instrument(new ReplicaPoolDataSource(
+                replicaHealthMonitor.getReplicas(), primaryDataSource, meterRegistry), env, slowQueryLog));
+        return proxy;
+    }
+}
@@ -0,0 +1,31 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourceRoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private ReplicaSettings replica = new ReplicaSettings();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Data
+    public static class ReplicaSettings {
+        // replica trễ hơn ngưỡng này thì đọc quay về primary
+        private long maxLagSeconds = 5;
+        private int poolSize = 20;
+        // chờ connection của replica tối đa bấy nhiêu (health check và request đọc), hết thì sang replica khác / primary
+        private long connectionTimeoutMs = 2000;
+    }
+}
@@ -0,0 +1,36 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Các executor có giới hạn (bounded) cho công việc chạy song song trong service.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Fan-out các query độc lập của dashboard. Queue đầy thì caller tự chạy phần việc
+     * (CallerRunsPolicy) thay vì ném lỗi, nên dashboard chỉ chậm lại chứ không hỏng.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.executor.pool-size:8}") int poolSize,
+            @Value("${dashboard.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // query của từng phần vẫn được tính vào request / @SqlBudget của caller
+        executor.setTaskDecorator(SqlStatsContext::propagate);
+        executor.initialize();
+        return executor;
+    }
+}
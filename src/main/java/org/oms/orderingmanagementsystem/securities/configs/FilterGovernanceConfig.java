@@ -0,0 +1,35 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.oms.orderingmanagementsystem.commons.governance.IndexAdvisor;
+import org.oms.orderingmanagementsystem.commons.governance.IndexAdvisorEndpoint;
+import org.oms.orderingmanagementsystem.commons.governance.IndexCatalog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Kiểm soát filter / sort động (BaseSpecification, BaseService.createSort): chỉ cho phép path
+ * tồn tại và không bị cấm, giới hạn tổ hợp không có index, gom số liệu để đề xuất index
+ * (/actuator/indexadvisor).
+ */
+@Configuration
+@EnableConfigurationProperties(FilterGovernanceProperties.class)
+public class FilterGovernanceConfig {
+
+    @Bean
+    public IndexCatalog indexCatalog(EntityManagerFactory entityManagerFactory) {
+        return new IndexCatalog(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+    }
+
+    @Bean
+    public IndexAdvisor indexAdvisor(IndexCatalog indexCatalog, FilterGovernanceProperties properties) {
+        return new IndexAdvisor(indexCatalog, properties.getMaxTrackedCombinations());
+    }
+
+    @Bean
+    public IndexAdvisorEndpoint indexAdvisorEndpoint(IndexAdvisor indexAdvisor) {
+        return new IndexAdvisorEndpoint(indexAdvisor);
+    }
+}
@@ -0,0 +1,43 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.filter-governance")
+public class FilterGovernanceProperties {
+
+    public enum Mode { ALLOW, RATE_LIMIT, REJECT }
+
+    // xử lý tổ hợp filter / sort không có index: cho qua, giới hạn tốc độ, hoặc từ chối
+    private Mode unindexed = Mode.ALLOW;
+
+    // số query không index được phép mỗi phút cho mỗi entity, chung cho mọi client (mode RATE_LIMIT)
+    private int unindexedPerMinute = 30;
+
+    // path được coi như có index dù không có (bảng nhỏ, đã chấp nhận), theo entity: allow.product=description
+    private Map<String, List<String>> allow = new HashMap<>();
+
+    // thuộc tính không bao giờ được filter / sort, theo entity: deny.user=password
+    // (so theo entity thật của thuộc tính, nên chặn cả user.password khi filter Order)
+    private Map<String, List<String>> deny = new HashMap<>();
+
+    // số tổ hợp filter tối đa được gom cho báo cáo đề xuất index
+    private int maxTrackedCombinations = 1000;
+
+    public boolean isAllowed(Class<?> entity, String path) {
+        return allow.getOrDefault(key(entity), List.of()).contains(path);
+    }
+
+    public boolean isDenied(Class<?> entity, String path) {
+        return deny.getOrDefault(key(entity), List.of()).contains(path);
+    }
+
+    private static String key(Class<?> entity) {
+        return entity.getSimpleName().toLowerCase();
+    }
+}
@@ -0,0 +1,34 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.oms.orderingmanagementsystem.commons.web.CompactPageHttpMessageConverter;
+import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.dtos.response.UserResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Encoding gọn cho các API phân trang (/api/order/v1, /api/users), xem CompactPageHttpMessageConverter.
+ * Spring Boot tự thêm bean HttpMessageConverter vào trước các converter mặc định.
+ * Thêm field vào response thì thêm cả ở đây, cùng thứ tự với fields.
+ */
+@Configuration
+public class HttpEncodingConfig {
+
+    @Bean
+    public CompactPageHttpMessageConverter compactPageHttpMessageConverter() {
+        return new CompactPageHttpMessageConverter()
+                .register(OrderResponse.class, List.of("id", "status", "username", "subtotal", "createdAt"),
+                        (row, order) -> row.value(order.getId())
+                                .value(order.getStatus())
+                                .value(order.getUsername())
+                                .value(order.getSubtotal())
+                                .value(order.getCreatedAt()))
+                .register(UserResponse.class, List.of("id", "name", "email", "phone"),
+                        (row, user) -> row.value(user.getId())
+                                .value(user.getName())
+                                .value(user.getEmail())
+                                .value(user.getPhone()));
+    }
+}
@@ -0,0 +1,85 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.migrations.OnlineIndexMigration;
+import org.oms.orderingmanagementsystem.commons.migrations.OnlineIndexMigration.Index;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Schema do Flyway quản lý (db/migration, lịch sử + checksum trong flyway_schema_history),
+ * Hibernate chỉ validate. Migration SQL nằm trong resources; migration index online là
+ * bean JavaMigration ở đây (Spring Boot tự đăng ký vào Flyway).
+ *
+ * Không sửa migration đã release: đổi schema thì thêm version mới.
+ */
+@Slf4j
+@Configuration
+public class MigrationConfig {
+
+    /**
+     * app.migrations.skip=true: khởi động không chạm DB, chỉ dùng cho lần chạy huấn luyện CDS lúc build image
+     * (không có MySQL). Bản build AOT chốt bean Flyway từ lúc build nên spring.flyway.enabled=false không còn
+     * tác dụng, cờ này đọc lúc chạy.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${app.migrations.skip:false}") boolean skip) {
+        return flyway -> {
+            if (skip) {
+                log.warn("Schema migrations skipped (app.migrations.skip=true)");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+
+    /**
+     * V2: đưa index của DB cũ về đúng như entity. ddl-auto=update chỉ thêm index, không bao giờ xoá,
+     * còn PERFORMANCE_INDEXES.sql chạy tay thêm các bản trùng. DB mới dựng từ V1 + V1.1 chỉ còn đổi
+     * idx_order_user / idx_order_user_status sang index keyset và thêm idx_order_status_created; index của bảng
+     * archive / report đã có từ V1.1.
+     */
+    @Bean
+    public OnlineIndexMigration reconcileIndexesMigration(
+            @Value("${app.migrations.lock-wait-timeout-seconds:10}") int lockWaitTimeoutSeconds) {
+        return new OnlineIndexMigration("2", "reconcile indexes online",
+                List.of(
+                        new Index("orders", "idx_order_user_created", "user_id, created_at, id"),
+                        new Index("orders", "idx_order_user_status_created", "user_id, status, created_at, id"),
+                        new Index("orders", "idx_order_status_created", "status, created_at, id"),
+                        new Index("orders", "idx_order_created_at", "created_at"),
+                        new Index("orders", "idx_order_created_pagination", "created_at DESC, id"),
+                        new Index("order_item", "idx_order_item_order", "order_id"),
+                        new Index("order_item", "idx_order_item_product", "product_id"),
+                        new Index("order_item", "idx_order_item_order_product", "order_id, product_id"),
+                        new Index("cart_item", "idx_cart_item_cart", "cart_id"),
+                        new Index("cart_item", "idx_cart_item_product", "product_id"),
+                        new Index("products", "idx_product_category", "category"),
+                        new Index("products", "idx_product_name", "name"),
+                        new Index("users", "idx_user_name", "name"),
+                        new Index("users", "idx_user_phone", "phone"),
+                        new Index("users", "idx_user_address", "address"),
+                        new Index("user_notification", "idx_user_notification_user", "user_id"),
+                        new Index("user_notification", "idx_user_notification_user_read", "user_id, is_read"),
+                        new Index("orders_archive", "idx_order_archive_user", "user_id, created_at"),
+                        new Index("orders_archive", "idx_order_archive_created", "created_at, id"),
+                        new Index("order_item_archive", "idx_order_item_archive_order", "order_id"),
+                        new Index("report_jobs", "idx_report_job_status", "status")),
+                List.of(
+                        // thay bằng idx_order_user_created / idx_order_user_status_created (keyset feed)
+                        new Index("orders", "idx_order_user", "user_id"),
+                        new Index("orders", "idx_order_user_status", "user_id, status"),
+                        // PERFORMANCE_INDEXES.sql: trùng với index của entity
+                        new Index("orders", "idx_order_pagination", "created_at DESC, id"),
+                        // PERFORMANCE_INDEXES.sql: thay bằng idx_order_status_created (lọc status + sort created_at)
+                        new Index("orders", "idx_order_status_lookup", "status, user_id"),
+                        new Index("order_item", "idx_order_item_batch_load", "order_id, product_id"),
+                        new Index("products", "idx_product_name_search", "name"),
+                        new Index("users", "idx_user_search", "name, email, phone")),
+                lockWaitTimeoutSeconds);
+    }
+}
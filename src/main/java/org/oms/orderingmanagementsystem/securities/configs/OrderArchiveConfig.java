@@ -0,0 +1,21 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.oms.orderingmanagementsystem.commons.partition.MonthlyPartitionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tầng archive cho orders: đơn đã đóng lâu ngày chuyển sang orders_archive / order_item_archive
+ * (partition theo tháng trên MySQL) để bảng nóng và index của nó vừa buffer pool.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class OrderArchiveConfig {
+
+    @Bean
+    public MonthlyPartitionManager monthlyPartitionManager(JdbcTemplate jdbcTemplate) {
+        return new MonthlyPartitionManager(jdbcTemplate);
+    }
+}
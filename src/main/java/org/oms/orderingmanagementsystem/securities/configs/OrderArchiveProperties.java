@@ -0,0 +1,31 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.orders.archive")
+public class OrderArchiveProperties {
+
+    private boolean enabled = false;
+
+    // đơn COMPLETED / CANCELLED tạo trước đầu tháng (hiện tại - closedAfterMonths) được chuyển sang archive
+    private int closedAfterMonths = 12;
+
+    // số đơn mỗi transaction; nhỏ để lock ngắn và binlog / undo log không phình
+    private int batchSize = 500;
+
+    // giới hạn mỗi lần chạy, phần còn lại để lần sau
+    private int maxBatchesPerRun = 200;
+
+    // nghỉ giữa các batch để replica kịp theo và không chiếm IO của traffic thật
+    private long pauseBetweenBatchesMs = 50;
+
+    private String cron = "0 30 2 * * *";
+
+    // partition theo tháng cho bảng archive (chỉ MySQL)
+    private boolean partitioned = true;
+
+    // drop partition archive cũ hơn số tháng này (tính từ hiện tại); 0 = giữ mãi
+    private int dropAfterMonths = 0;
+}
@@ -0,0 +1,56 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.oms.orderingmanagementsystem.dtos.response.OrderFeedResponse;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderServiceInterface.OrderDetail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Các cache in-process của order. Số liệu hit / miss:
+ * /actuator/metrics/cache.gets?tag=cache:order-detail (hoặc cache:order-feed)
+ */
+@Configuration
+public class OrderCacheConfig {
+
+    /**
+     * Response order detail cho đơn đã đóng (COMPLETED / CANCELLED, kể cả đơn đã archive):
+     * không còn thay đổi nên không cần invalidate, chỉ giới hạn kích thước và hết hạn khi ít xem.
+     */
+    @Bean
+    public Cache<Long, OrderDetail> orderDetailCache(
+            @Value("${app.orders.detail-cache.max-size:10000}") long maxSize,
+            @Value("${app.orders.detail-cache.expire-after-access-ms:1800000}") long expireAfterAccessMs,
+            MeterRegistry meterRegistry) {
+        Cache<Long, OrderDetail> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "order-detail");
+    }
+
+    /**
+     * Trang đầu order feed theo user: userId -> (status filter -> trang). Bị invalidate khi đơn của
+     * user thay đổi qua JPA; expireAfterWrite là lưới an toàn cho thay đổi ngoài JPA (archive job).
+     */
+    @Bean
+    public Cache<Long, ConcurrentMap<String, OrderFeedResponse>> orderFeedCache(
+            @Value("${app.orders.feed.cache.max-users:50000}") long maxUsers,
+            @Value("${app.orders.feed.cache.expire-after-write-ms:600000}") long expireAfterWriteMs,
+            MeterRegistry meterRegistry) {
+        Cache<Long, ConcurrentMap<String, OrderFeedResponse>> cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "order-feed");
+    }
+}
@@ -0,0 +1,34 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Report chạy nền: pool cố định reportWorkers thread, job dư xếp hàng trong queue có giới hạn.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportConfig {
+
+    /**
+     * Queue đầy thì ném RejectedExecutionException (không CallerRuns như dashboard:
+     * report không được chạy trên request thread).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(ReportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("report-");
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // shutdown: job đang chạy dừng ở chunk hiện tại, restart sẽ chạy tiếp từ checkpoint
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
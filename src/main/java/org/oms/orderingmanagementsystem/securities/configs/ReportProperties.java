@@ -0,0 +1,26 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+
+    // số report chạy đồng thời; report nặng quét cả tháng nên mặc định chạy lần lượt
+    private int workers = 1;
+
+    // số job chờ tối đa; đầy thì từ chối submit (503) thay vì dồn tải lên DB
+    private int queueCapacity = 20;
+
+    // số đơn (TOP_CUSTOMERS: số user) mỗi chunk, mỗi chunk là một transaction readOnly ngắn
+    private int chunkSize = 1000;
+
+    // nghỉ giữa các chunk để nhường connection / IO cho traffic thật
+    private long pauseBetweenChunksMs = 20;
+
+    private String outputDir = "./data/reports";
+
+    // số dòng của report TOP_CUSTOMERS
+    private int topCustomers = 100;
+}
@@ -0,0 +1,114 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oms.orderingmanagementsystem.commons.jdbc.InstrumentedDataSource;
+import org.oms.orderingmanagementsystem.commons.jdbc.SlowQueryEndpoint;
+import org.oms.orderingmanagementsystem.commons.jdbc.SlowQueryLog;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudgetAspect;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsPublisher;
+import org.oms.orderingmanagementsystem.securities.filters.SqlStatsFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Đo JDBC theo HTTP request và theo service method (@SqlBudget), publish histogram
+ * qua /actuator/metrics (oms.sql.*) và cảnh báo khi vượt statement budget.
+ * Slow query log + EXPLAIN lấy mẫu: /actuator/slowqueries.
+ *
+ * Tắt bằng app.sql.instrumentation.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlInstrumentationProperties.class)
+public class SqlInstrumentationConfig {
+
+    private static final String SLOW_QUERY_ENABLED = "app.sql.instrumentation.slow-query.enabled";
+
+    /**
+     * Bọc bean "dataSource". Chạy sau các BeanPostProcessor khác (vd. concurrency limiter)
+     * để thời gian chờ permit cũng tính vào pool time.
+     * Với read/write routing, connection thật chỉ được lấy ở statement đầu tiên, nên
+     * DataSourceRoutingConfig tự bọc primary / replica bên dưới LazyConnectionDataSourceProxy.
+     */
+    @Bean
+    public static BeanPostProcessor sqlInstrumentingDataSource(Environment env,
+                                                               ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new InstrumentingPostProcessor(
+                env.getProperty("app.datasource.routing.enabled", Boolean.class, false),
+                slowQueryLog(env, slowQueryLog));
+    }
+
+    @Bean
+    public SqlStatsPublisher sqlStatsPublisher(MeterRegistry meterRegistry) {
+        return new SqlStatsPublisher(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = SLOW_QUERY_ENABLED, havingValue = "true", matchIfMissing = true)
+    public SlowQueryLog slowQueryLog(SqlInstrumentationProperties properties, MeterRegistry meterRegistry) {
+        SqlInstrumentationProperties.SlowQuery slowQuery = properties.getSlowQuery();
+        return new SlowQueryLog(slowQuery.getThresholdMs(), slowQuery.getMaxShapes(),
+                slowQuery.getParameterSampleRate(), slowQuery.getExplainIntervalMs(),
+                slowQuery.getPlanBufferSize(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SLOW_QUERY_ENABLED, havingValue = "true", matchIfMissing = true)
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    public SqlBudgetAspect sqlBudgetAspect(SqlStatsPublisher sqlStatsPublisher) {
+        return new SqlBudgetAspect(sqlStatsPublisher);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlStatsPublisher sqlStatsPublisher,
+                                                                 SqlInstrumentationProperties properties) {
+        FilterRegistrationBean<SqlStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatsFilter(sqlStatsPublisher, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /** Dùng chung với DataSourceRoutingConfig. */
+    static DataSource instrument(DataSource dataSource, Environment env, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        boolean enabled = env.getProperty("app.sql.instrumentation.enabled", Boolean.class, true);
+        return enabled ? new InstrumentedDataSource(dataSource, slowQueryLog(env, slowQueryLog)) : dataSource;
+    }
+
+    // resolve lười: DataSource được bọc trước khi các bean khác (MeterRegistry...) sẵn sàng
+    private static Supplier<SlowQueryLog> slowQueryLog(Environment env, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        boolean enabled = env.getProperty(SLOW_QUERY_ENABLED, Boolean.class, true);
+        return enabled ? SingletonSupplier.of(slowQueryLog::getIfAvailable) : null;
+    }
+
+    private record InstrumentingPostProcessor(boolean routing, Supplier<SlowQueryLog> slowQueryLog)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!routing && "dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new InstrumentedDataSource(dataSource, slowQueryLog);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
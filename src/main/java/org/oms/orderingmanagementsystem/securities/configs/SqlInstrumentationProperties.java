@@ -0,0 +1,39 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.sql.instrumentation")
+public class SqlInstrumentationProperties {
+
+    private boolean enabled = true;
+
+    // budget số statement cho mỗi HTTP request; 0 = không kiểm tra
+    private int defaultStatementBudget = 50;
+
+    // budget riêng theo pattern của handler, vd. endpoint-budgets[/api/order/v1]=10
+    private Map<String, Integer> endpointBudgets = new HashMap<>();
+
+    private SlowQuery slowQuery = new SlowQuery();
+
+    public int budgetFor(String pattern) {
+        return endpointBudgets.getOrDefault(pattern, defaultStatementBudget);
+    }
+
+    @Data
+    public static class SlowQuery {
+        private boolean enabled = true;
+        // ngưỡng tối thiểu; tự nâng lên khi đã giữ đủ maxShapes shape
+        private long thresholdMs = 100;
+        private int maxShapes = 100;
+        // tỉ lệ PreparedStatement được ghi bind value (EXPLAIN chỉ chạy được cho các statement này)
+        private double parameterSampleRate = 0.05;
+        // mỗi shape EXPLAIN tối đa một lần trong khoảng này
+        private long explainIntervalMs = 600_000;
+        private int planBufferSize = 100;
+    }
+}
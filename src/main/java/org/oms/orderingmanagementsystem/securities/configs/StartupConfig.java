@@ -0,0 +1,36 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.oms.orderingmanagementsystem.controllers.OrderController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Profile "fast-startup" (application-fast-startup.properties) bật spring.main.lazy-initialization.
+ * Các bean dưới đây vẫn tạo ngay lúc khởi động, vì request đầu tiên cần chúng và lazy chỉ dời chi phí
+ * sang request đó:
+ * - DataSource, Flyway (migration phải xong trước khi nhận traffic), EntityManagerFactory (Hibernate bootstrap).
+ * - OrderController và các dependency của nó (service, repository, cache): đường đọc /api/order/v1.
+ *
+ * Không có tác dụng khi lazy-initialization tắt.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                Flyway.class,
+                FlywayMigrationInitializer.class,
+                EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class,
+                OrderController.class);
+    }
+}
@@ -0,0 +1,48 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import org.oms.orderingmanagementsystem.commons.assets.AssetStore;
+import org.oms.orderingmanagementsystem.securities.filters.AssetUrlEncodingFilter;
+import org.oms.orderingmanagementsystem.securities.filters.StaticAssetFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Static asset đã qua AssetPipeline lúc build (fingerprint + .gz / .br + prune plugin thừa):
+ * trang render link /_assets/...-{hash}.ext, StaticAssetFilter phục vụ với cache immutable.
+ * Build bỏ qua bước asset (-Dassets.skip) thì mọi thứ như cũ.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.assets.enabled", havingValue = "true", matchIfMissing = true)
+public class StaticAssetConfig {
+
+    @Bean
+    public AssetStore assetStore(
+            @Value("${app.assets.extract-dir:${java.io.tmpdir}/oms-assets}") String extractDir) throws IOException {
+        return AssetStore.load(Path.of(extractDir));
+    }
+
+    @Bean
+    public FilterRegistrationBean<StaticAssetFilter> staticAssetFilter(AssetStore assetStore) {
+        FilterRegistrationBean<StaticAssetFilter> registration =
+                new FilterRegistrationBean<>(new StaticAssetFilter(assetStore));
+        registration.addUrlPatterns(StaticAssetFilter.PREFIX + "*");
+        // trả file trước mọi filter khác (không cần SqlStats / parameter filter cho asset)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AssetUrlEncodingFilter> assetUrlEncodingFilter(AssetStore assetStore) {
+        FilterRegistrationBean<AssetUrlEncodingFilter> registration =
+                new FilterRegistrationBean<>(new AssetUrlEncodingFilter(assetStore));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import org.oms.orderingmanagementsystem.commons.templates.FragmentRenderCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * Render cache cho trang admin (Thymeleaf). Chế độ production (profile docker):
+ * spring.thymeleaf.cache=true (template chỉ parse một lần) + app.templates.fragment-cache.enabled=true.
+ * Khi dev để cả hai false để sửa template là thấy ngay.
+ */
+@Configuration
+public class TemplateCacheConfig {
+
+    @Bean
+    public FragmentRenderCache fragmentRenderCache(
+            ITemplateEngine templateEngine,
+            ServletContext servletContext,
+            @Value("${app.templates.fragment-cache.enabled:false}") boolean enabled,
+            @Value("${app.templates.fragment-cache.max-size:500}") long maxSize,
+            MeterRegistry meterRegistry) {
+        return new FragmentRenderCache(templateEngine, JakartaServletWebApplication.buildApplication(servletContext),
+                maxSize, meterRegistry, enabled);
+    }
+}
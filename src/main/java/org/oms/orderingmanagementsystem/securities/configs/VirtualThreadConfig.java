@@ -0,0 +1,60 @@
+package org.oms.orderingmanagementsystem.securities.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.oms.orderingmanagementsystem.commons.datasource.ConcurrencyLimitingDataSource;
+import org.oms.orderingmanagementsystem.commons.threads.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Execution profile "vthreads" (application-vthreads.properties):
+ * spring.threads.virtual.enabled=true cho Tomcat, @Async và @Scheduled chạy trên virtual thread.
+ * Config này bổ sung giới hạn số connection DB đồng thời và metrics về pinning.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry, Environment env) {
+        long thresholdMs = env.getProperty("app.vthreads.pinning-threshold-ms", Long.class, 20L);
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+
+    /** Bọc bean "dataSource" (DataSource mà JPA dùng) bằng semaphore limiter. */
+    @Bean
+    @ConditionalOnProperty(name = "app.db.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor dbConcurrencyLimiter(Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        int permits = env.getProperty("app.db.concurrency-limit.permits", Integer.class, 40);
+        long timeoutMs = env.getProperty("app.db.concurrency-limit.acquire-timeout-ms", Long.class, 5000L);
+        return new LimitingPostProcessor(permits, timeoutMs, meterRegistry);
+    }
+
+    // Ordered: bọc trước SqlInstrumentationConfig để thời gian chờ permit được đo như pool time
+    private record LimitingPostProcessor(int permits, long timeoutMs, ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new ConcurrencyLimitingDataSource(dataSource, permits, timeoutMs, meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.oms.orderingmanagementsystem.securities.exceptions;
+
+/** Filter / sort trỏ tới field không tồn tại hoặc bị cấm (vd. password). HTTP 400. */
+public class InvalidFilterException extends RuntimeException {
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.oms.orderingmanagementsystem.securities.exceptions;
+
+/**
+ * Không chuyển được trạng thái đơn: chuyển không hợp lệ theo OrderStatus, sai expectedVersion,
+ * hoặc thua quá số lần thử trước các ghi đồng thời. HTTP 409.
+ */
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
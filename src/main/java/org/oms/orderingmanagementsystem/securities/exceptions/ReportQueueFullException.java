@@ -0,0 +1,8 @@
+package org.oms.orderingmanagementsystem.securities.exceptions;
+
+/** Queue report đã đầy, client thử lại sau. HTTP 503. */
+public class ReportQueueFullException extends RuntimeException {
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+}
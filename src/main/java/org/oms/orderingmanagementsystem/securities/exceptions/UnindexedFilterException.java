@@ -0,0 +1,18 @@
+package org.oms.orderingmanagementsystem.securities.exceptions;
+
+/**
+ * Tổ hợp filter / sort không có index hỗ trợ và bị chặn.
+ * throttled = true: vượt hạn mức query không index (HTTP 429), false: bị từ chối hẳn (HTTP 400).
+ */
+public class UnindexedFilterException extends RuntimeException {
+    private final boolean throttled;
+
+    public UnindexedFilterException(String message, boolean throttled) {
+        super(message);
+        this.throttled = throttled;
+    }
+
+    public boolean isThrottled() {
+        return throttled;
+    }
+}
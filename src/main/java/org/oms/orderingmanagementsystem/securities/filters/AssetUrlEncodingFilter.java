@@ -0,0 +1,53 @@
+package org.oms.orderingmanagementsystem.securities.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.assets.AssetStore;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Đổi link asset sang path đã fingerprint khi render trang: Thymeleaf gọi response.encodeURL()
+ * cho mọi @{...}, nên template vẫn viết @{/adminlte/...} như cũ
+ * (giống ResourceUrlEncodingFilter của Spring, nhưng tra manifest lúc build thay vì hash lúc chạy).
+ */
+@RequiredArgsConstructor
+public class AssetUrlEncodingFilter extends OncePerRequestFilter {
+
+    private final AssetStore store;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return store.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String contextPath = request.getContextPath();
+        filterChain.doFilter(request, new HttpServletResponseWrapper(response) {
+            @Override
+            public String encodeURL(String url) {
+                return super.encodeURL(fingerprint(contextPath, url));
+            }
+        });
+    }
+
+    private String fingerprint(String contextPath, String url) {
+        if (url == null || !url.startsWith(contextPath + "/")) {
+            return url;
+        }
+        int end = url.length();
+        int query = url.indexOf('?');
+        int fragment = url.indexOf('#');
+        if (query >= 0) end = query;
+        if (fragment >= 0) end = Math.min(end, fragment);
+        String fingerprinted = store.fingerprinted(url.substring(contextPath.length(), end));
+        return fingerprinted == null ? url : contextPath + fingerprinted + url.substring(end);
+    }
+}
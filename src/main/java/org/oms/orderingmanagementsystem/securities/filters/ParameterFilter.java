@@ -1,5 +1,7 @@
 package org.oms.orderingmanagementsystem.securities.filters;
 
+import org.springframework.data.domain.Sort;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -25,6 +27,31 @@ public class ParameterFilter {
                 .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue()[0]));
     }
 
+    // sort theo kiểu Spring Data: sort=createdAt,desc / sort=status,createdAt,desc / sort=status&sort=createdAt,desc
+    // (hướng asc|desc ở cuối áp cho mọi field đứng trước nó trong cùng một tham số)
+    public static List<Sort.Order> filterSort(Map<String, String[]> parameters) {
+        List<Sort.Order> out = new ArrayList<>();
+        if (!parameters.containsKey("sort")) return out;
+        for (String value : parameters.get("sort")) {
+            if (value == null || value.isBlank()) continue;
+            List<String> fields = new ArrayList<>();
+            for (String p : value.split(",")) {
+                if (!p.isBlank()) fields.add(p.trim());
+            }
+            Sort.Direction direction = Sort.Direction.ASC;
+            if (!fields.isEmpty()) {
+                Optional<Sort.Direction> last = Sort.Direction.fromOptionalString(fields.getLast());
+                if (last.isPresent()) {
+                    direction = last.get();
+                    fields.removeLast();
+                }
+            }
+            for (String field : fields) {
+                out.add(new Sort.Order(direction, field));
+            }
+        }
+        return out;
+    }
 
     // phuc tap
     // phức tạp: hỗ trợ a[b] và a.b (gom về Map<cấp-1, Map<cấp-2, value>>)
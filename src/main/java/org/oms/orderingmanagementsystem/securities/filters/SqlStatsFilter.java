@@ -0,0 +1,43 @@
+package org.oms.orderingmanagementsystem.securities.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStats;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsContext;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsPublisher;
+import org.oms.orderingmanagementsystem.securities.configs.SqlInstrumentationProperties;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Scope SqlStats cho mỗi HTTP request, đặt tên theo "METHOD pattern" của handler
+ * (vd. "GET /api/order/v1") để số tag của metrics không phụ thuộc path variable / query.
+ */
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final SqlStatsPublisher publisher;
+    private final SqlInstrumentationProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStats stats = SqlStatsContext.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatsContext.end(stats);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // request không chạm DB (static resource, trang lỗi...) thì bỏ qua
+            if (pattern != null && stats.getStatements() > 0) {
+                publisher.publish(SqlStatsPublisher.SCOPE_HTTP, request.getMethod() + " " + pattern, stats,
+                        properties.budgetFor(pattern.toString()));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.oms.orderingmanagementsystem.securities.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.assets.AssetPipeline;
+import org.oms.orderingmanagementsystem.commons.assets.AssetStore;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Phục vụ /_assets/** (file đã fingerprint): tên file đổi theo nội dung nên cache
+ * "public, max-age=1 năm, immutable", trình duyệt không revalidate.
+ *
+ * - Chọn bản nén sẵn .br / .gz theo Accept-Encoding, không nén lúc request.
+ * - Gửi file bằng Tomcat sendfile (kernel copy thẳng file -> socket) khi connector hỗ trợ;
+ *   không thì FileChannel.transferTo.
+ */
+@RequiredArgsConstructor
+public class StaticAssetFilter extends OncePerRequestFilter {
+
+    public static final String PREFIX = "/" + AssetPipeline.ASSETS_DIR + "/";
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AssetStore store;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean head = "HEAD".equals(request.getMethod());
+        if (!head && !"GET".equals(request.getMethod())) {
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        Path file = store.resolve(request.getRequestURI().substring(request.getContextPath().length() + PREFIX.length()));
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String contentType = request.getServletContext().getMimeType(file.getFileName().toString());
+        Path body = file;
+        String encoding = null;
+        Path br = file.resolveSibling(file.getFileName() + ".br");
+        Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accepts(accept, "br") && Files.isRegularFile(br)) {
+            body = br;
+            encoding = "br";
+        } else if (accepts(accept, "gzip") && Files.isRegularFile(gz)) {
+            body = gz;
+            encoding = "gzip";
+        }
+
+        long length = Files.size(body);
+        response.setContentType(contentType == null ? "application/octet-stream" : contentType);
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        if (encoding != null || Files.isRegularFile(gz) || Files.isRegularFile(br)) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (head) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, body.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(body)) {
+            OutputStream out = response.getOutputStream();
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, Channels.newChannel(out));
+            }
+        }
+    }
+
+    /** Accept-Encoding có coding này với q > 0 không. */
+    static boolean accepts(String header, String coding) {
+        if (header == null) {
+            return false;
+        }
+        for (String part : header.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().toLowerCase(Locale.ROOT).equals(coding)) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,176 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangedEvent;
+import org.oms.orderingmanagementsystem.commons.expiry.TimingWheel;
+import org.oms.orderingmanagementsystem.entities.Cart;
+import org.oms.orderingmanagementsystem.repositories.CartRepository;
+import org.oms.orderingmanagementsystem.securities.configs.CartExpiryProperties;
+import org.oms.orderingmanagementsystem.services.interfaces.CartExpiryServiceInterface;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Xoá cart bỏ dở mà không quét bảng: hạn của từng cart (last_activity + ttl) nằm trong timing wheel,
+ * mỗi lần quay chỉ lấy ra các cart vừa tới hạn rồi xoá theo chunk bằng câu lệnh set-based
+ * (DELETE ... WHERE id IN (...)), không có DELETE ... WHERE last_activity < ? trên cả bảng.
+ *
+ * last_activity do DB ghi (default lúc insert, trigger trên cart_item - V5, touch) theo đồng hồ của DB.
+ * Wheel chạy theo đồng hồ JVM, nên hạn được tính từ khoảng cách last_activity -> LOCALTIMESTAMP của DB
+ * đọc cùng lúc, không đổi LocalDateTime sang epoch theo múi giờ của JVM.
+ *
+ * Wheel chỉ là gợi ý: trước khi xoá, chunk được khoá (SELECT ... FOR UPDATE) và last_activity đọc lại
+ * từ DB. Cart có hoạt động mới hơn (trigger cart_item, touch ở instance khác, hoặc chen vào lúc đang xoá)
+ * được đặt lại hạn thay vì bị xoá. Mỗi instance tự nạp wheel từ DB nên nhiều instance cùng chạy chỉ làm
+ * trùng việc, không sai.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartExpiryService implements CartExpiryServiceInterface {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CartRepository cartRepository;
+    private final CartExpiryProperties properties;
+    private final TimingWheel<Long> cartExpiryWheel;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void touch(Long cartId) {
+        cartRepository.touch(cartId);
+        if (properties.isEnabled()) {
+            synchronized (cartExpiryWheel) {
+                cartExpiryWheel.schedule(cartId, System.currentTimeMillis() + properties.getTtlMs());
+            }
+        }
+    }
+
+    /** Cart mới (last_activity = lúc insert) vào wheel ngay, không chờ lần nạp lại sau restart. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!properties.isEnabled() || !(event.entity() instanceof Cart cart) || cart.getId() == null) {
+            return;
+        }
+        synchronized (cartExpiryWheel) {
+            if (event.action() == EntityChangedEvent.Action.DELETE) {
+                cartExpiryWheel.cancel(cart.getId());
+            } else {
+                cartExpiryWheel.scheduleIfLater(cart.getId(), System.currentTimeMillis() + properties.getTtlMs());
+            }
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime dbNow = dbNow();
+        long jvmNow = System.currentTimeMillis();
+        LocalDateTime afterActivity = EPOCH;
+        Long afterId = 0L;
+        int loaded = 0;
+        while (true) {
+            List<Object[]> rows = cartRepository.findActivityAfter(afterActivity, afterId,
+                    Limit.of(properties.getRebuildChunkSize()));
+            synchronized (cartExpiryWheel) {
+                for (Object[] row : rows) {
+                    // touch / cart mới chạy song song đã đặt hạn mới hơn thì giữ
+                    cartExpiryWheel.scheduleIfLater((Long) row[0], deadline((LocalDateTime) row[1], dbNow, jvmNow));
+                }
+            }
+            loaded += rows.size();
+            if (rows.size() < properties.getRebuildChunkSize()) break;
+            Object[] last = rows.getLast();
+            afterId = (Long) last[0];
+            afterActivity = (LocalDateTime) last[1];
+        }
+        log.info("Cart expiry wheel loaded {} carts in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public int expireDue() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int deleted = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            List<Long> due;
+            synchronized (cartExpiryWheel) {
+                due = cartExpiryWheel.advance(System.currentTimeMillis(), properties.getChunkSize());
+            }
+            if (due.isEmpty()) break;
+            try {
+                Integer removed = tx.execute(status -> deleteExpired(due));
+                deleted += removed == null ? 0 : removed;
+            } catch (RuntimeException e) {
+                // đặt lại để lần quay sau thử tiếp, không mất cart khỏi wheel
+                long retryAt = System.currentTimeMillis() + properties.getPollMs();
+                synchronized (cartExpiryWheel) {
+                    due.forEach(id -> cartExpiryWheel.scheduleIfLater(id, retryAt));
+                }
+                throw e;
+            }
+        }
+        if (deleted > 0) {
+            meterRegistry.counter("oms.cart.expired").increment(deleted);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int tracked() {
+        synchronized (cartExpiryWheel) {
+            return cartExpiryWheel.size();
+        }
+    }
+
+    private int deleteExpired(List<Long> due) {
+        List<Object[]> rows = cartRepository.lockActivity(due);
+        LocalDateTime dbNow = dbNow();
+        long jvmNow = System.currentTimeMillis();
+        LocalDateTime cutoff = dbNow.minus(Duration.ofMillis(properties.getTtlMs()));
+        List<Long> expired = new ArrayList<>(due.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            LocalDateTime lastActivity = (LocalDateTime) row[1];
+            if (lastActivity.isAfter(cutoff)) {
+                synchronized (cartExpiryWheel) {
+                    cartExpiryWheel.scheduleIfLater(id, deadline(lastActivity, dbNow, jvmNow));
+                }
+            } else {
+                expired.add(id);
+            }
+        }
+        // cart trong due nhưng không còn trong DB: đã bị xoá nơi khác, bỏ qua
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        cartRepository.deleteItemsByCartIds(expired);
+        return cartRepository.deleteByIds(expired);
+    }
+
+    private LocalDateTime dbNow() {
+        return (LocalDateTime) entityManager
+                .createNativeQuery("SELECT LOCALTIMESTAMP(6)", LocalDateTime.class)
+                .getSingleResult();
+    }
+
+    /** Hạn theo đồng hồ JVM: jvmNow + (lastActivity - dbNow) + ttl, dbNow và jvmNow đọc cùng lúc. */
+    private long deadline(LocalDateTime lastActivity, LocalDateTime dbNow, long jvmNow) {
+        return jvmNow + Duration.between(dbNow, lastActivity).toMillis() + properties.getTtlMs();
+    }
+}
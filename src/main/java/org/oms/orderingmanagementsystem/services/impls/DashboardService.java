@@ -1,62 +1,111 @@
 package org.oms.orderingmanagementsystem.services.impls;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.oms.orderingmanagementsystem.commons.coalescing.RequestCoalescer;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudget;
+import org.oms.orderingmanagementsystem.commons.money.Money;
 import org.oms.orderingmanagementsystem.dtos.response.*;
-import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.mappers.DashboardMapper;
 import org.oms.orderingmanagementsystem.repositories.*;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
 import org.oms.orderingmanagementsystem.services.interfaces.DashboardServiceInterface;
 import java.util.List;
-import java.util.stream.Collectors;
-import org.springframework.transaction.annotation.Transactional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Dashboard gồm 6 phần độc lập (user count, order count, product count, revenue,
+ * recent orders, recent activities). Các phần chạy song song trên dashboardExecutor, mỗi phần
+ * có timeout riêng và giá trị fallback, nên latency ~ query chậm nhất thay vì tổng
+ * và một query lỗi / chậm không làm hỏng cả trang.
+ *
+ * Mỗi phần chạy trong transaction readOnly riêng trên thread của nó, có timeout: Hibernate đặt
+ * Statement.setQueryTimeout theo thời gian còn lại của transaction, nên query quá hạn bị DB huỷ thật
+ * (orTimeout chỉ trả fallback cho trang, không dừng được query đang chạy). JDBC tính timeout theo giây,
+ * nên timeout của transaction là part-timeout-ms làm tròn lên.
+ *
+ * Nhiều người mở dashboard cùng lúc thì dùng chung một lần tính (dashboardCoalescer).
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardService implements DashboardServiceInterface {
 
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final OrderArchiveServiceInterface orderArchiveService;
     private final NotificationRepository notificationRepository;
+    private final DashboardMapper dashboardMapper;
+    private final RequestCoalescer<Object, DashboardResponse> dashboardCoalescer;
+    private final PlatformTransactionManager transactionManager;
 
+    @Qualifier("dashboardExecutor")
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+
+    @Value("${dashboard.part-timeout-ms:2000}")
+    private long partTimeoutMs;
+
+    @SqlBudget(statements = 8)
     @Override
-    @Transactional(readOnly = true)
     public DashboardResponse getDashboardStatistics() {
-        Long totalUsers = userRepository.count();
-        Long totalOrders = orderRepository.count();
-        Long totalProducts = 0L; // TODO: Từ ProductRepository nếu có
-        Double totalRevenue = orderRepository.calculateTotalRevenue();
-
-        List<RecentOrderResponse> recentOrders = orderRepository.findTop5ByOrderByCreatedAtDesc()
-                .stream()
-                .map(order -> new RecentOrderResponse(
-                        order.getId(),
-                        "ORD-" + order.getId(),
-                        order.getUser().getName(),
-                        order.getId().doubleValue(),
-                        order.getStatus().toString(),
-                        order.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
-
-        List<RecentActivityResponse> recentActivities = notificationRepository.findTop10ByOrderByCreatedAtDesc()
-                .stream()
-                .map(notification -> new RecentActivityResponse(
-                        notification.getId(),
-                        "NOTIFICATION",
-                        notification.getMessage(),
-                        "fas fa-bell",
-                        "text-info",
-                        notification.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
+        return dashboardCoalescer.get(DashboardResponse.class, this::load);
+    }
+
+    private DashboardResponse load() {
+        CompletableFuture<Long> totalUsers = part("totalUsers", userRepository::count, 0L);
+        CompletableFuture<Long> totalOrders = part("totalOrders", this::totalOrders, 0L);
+        CompletableFuture<Long> totalProducts = part("totalProducts", productRepository::count, 0L);
+        CompletableFuture<Money> totalRevenue = part("totalRevenue", this::totalRevenue, Money.ZERO);
+        CompletableFuture<List<RecentOrderResponse>> recentOrders = part("recentOrders", this::recentOrders, List.of());
+        CompletableFuture<List<RecentActivityResponse>> recentActivities = part("recentActivities", this::recentActivities, List.of());
 
         return new DashboardResponse(
-                totalUsers,
-                totalOrders,
-                totalProducts,
-                totalRevenue != null ? totalRevenue : 0.0,
-                recentOrders,
-                recentActivities
+                totalUsers.join(),
+                totalOrders.join(),
+                totalProducts.join(),
+                totalRevenue.join().toBigDecimal(),
+                recentOrders.join(),
+                recentActivities.join()
         );
     }
-}
\ No newline at end of file
+
+    // đơn đã archive vẫn tính vào tổng (số đếm archive được cache, không COUNT mỗi lần)
+    private Long totalOrders() {
+        return orderRepository.count() + orderArchiveService.archivedCount();
+    }
+
+    // doanh thu của archive cũng được cache cùng số đếm, chỉ SUM bảng nóng mỗi lần
+    private Money totalRevenue() {
+        return orderRepository.calculateTotalRevenue().plus(orderArchiveService.archivedRevenue());
+    }
+
+    private List<RecentOrderResponse> recentOrders() {
+        // user được fetch cùng query (EntityGraph), không lazy-load từng dòng
+        return dashboardMapper.toRecentOrders(orderRepository.findTop5ByOrderByCreatedAtDesc());
+    }
+
+    private List<RecentActivityResponse> recentActivities() {
+        return dashboardMapper.toRecentActivities(notificationRepository.findTop10ByOrderByCreatedAtDesc());
+    }
+
+    private <T> CompletableFuture<T> part(String name, Supplier<T> query, T fallback) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.setTimeout((int) Math.max(1, (partTimeoutMs + 999) / 1000));
+        return CompletableFuture.supplyAsync(() -> tx.execute(status -> query.get()), dashboardExecutor)
+                .orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    log.warn("Dashboard part '{}' unavailable, using fallback: {}", name, ex.toString());
+                    return fallback;
+                });
+    }
+}
@@ -0,0 +1,218 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.dtos.response.DashboardDeltaResponse;
+import org.oms.orderingmanagementsystem.dtos.response.RecentActivityResponse;
+import org.oms.orderingmanagementsystem.dtos.response.RecentOrderResponse;
+import org.oms.orderingmanagementsystem.mappers.DashboardMapper;
+import org.oms.orderingmanagementsystem.repositories.NotificationRepository;
+import org.oms.orderingmanagementsystem.repositories.OrderRepository;
+import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.DashboardStreamServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live dashboard qua Server-Sent Events.
+ *
+ * Một producer duy nhất (@Scheduled) tính delta mỗi chu kỳ: đơn hàng mới, thông báo mới
+ * và counters thay đổi. Delta được serialize MỘT lần rồi gửi cho mọi client, nên chi phí
+ * DB không phụ thuộc số admin đang xem. Không có ai xem thì producer không query gì.
+ *
+ * Counters không COUNT / SUM mỗi chu kỳ: tổng đơn cộng dồn theo số đơn mới trong delta (keyset trên id
+ * nên mỗi đơn chỉ được đếm một lần), còn user / doanh thu (đổi theo status) và tổng đơn được đọc lại
+ * từ DB tối đa mỗi counters-refresh-ms.
+ *
+ * SseEmitter là async servlet: connection mở không giữ request thread. Việc ghi ra
+ * từng client chạy trên virtual thread riêng, client chậm không chặn client khác.
+ * Client còn đang ghi dở lần trước thì bỏ qua chu kỳ này: delta của nó được gộp lại
+ * và gửi một lần khi ghi xong, không xếp hàng thêm task ghi cho client đó.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStreamService implements DashboardStreamServiceInterface {
+
+    // số dòng mới tối đa giữ lại cho client bị chậm (trang chỉ hiển thị 5)
+    private static final int MAX_PENDING_ROWS = 20;
+
+    /** Một client: cờ đang ghi (thread gửi xoá) và delta chưa gửi (chỉ thread producer đụng tới). */
+    private static final class Client {
+        final AtomicBoolean sending = new AtomicBoolean();
+        DashboardDeltaResponse pending;
+    }
+
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveServiceInterface orderArchiveService;
+    private final NotificationRepository notificationRepository;
+    private final DashboardMapper dashboardMapper;
+    private final JsonMapper jsonMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${dashboard.stream.counters-refresh-ms:30000}")
+    private long countersRefreshMs;
+
+    private final Map<SseEmitter, Client> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // trạng thái của producer, chỉ được đọc/ghi trên thread của @Scheduled
+    private boolean initialized;
+    private long lastOrderId;
+    private long lastNotificationId;
+    private long countersRefreshedAt;
+    private Long totalUsers;
+    private Long totalOrders;
+    private Money totalRevenue;
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.put(emitter, new Client());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval-ms:3000}")
+    public void tick() {
+        if (emitters.isEmpty()) {
+            initialized = false;
+            return;
+        }
+        if (!initialized) {
+            // điểm xuất phát: client đã có snapshot từ trang dashboard
+            lastOrderId = orderRepository.findMaxId();
+            lastNotificationId = notificationRepository.findMaxId();
+            totalUsers = null;
+            totalOrders = null;
+            totalRevenue = null;
+            initialized = true;
+        }
+
+        DashboardDeltaResponse delta = computeDelta();
+        String payload = delta == null ? null : jsonMapper.writeValueAsString(delta);
+        emitters.forEach((emitter, client) -> {
+            if (delta != null) {
+                client.pending = client.pending == null ? delta : merge(client.pending, delta);
+            }
+            if (!client.sending.compareAndSet(false, true)) {
+                return;
+            }
+            DashboardDeltaResponse pending = client.pending;
+            client.pending = null;
+            // client theo kịp thì dùng chung payload đã serialize
+            String data = pending == null ? null
+                    : pending == delta ? payload
+                    : jsonMapper.writeValueAsString(pending);
+            senders.execute(() -> {
+                try {
+                    send(emitter, data);
+                } finally {
+                    client.sending.set(false);
+                }
+            });
+        });
+    }
+
+    /** @return null nếu không có gì thay đổi */
+    private DashboardDeltaResponse computeDelta() {
+        // map trong transaction: totalAmount đọc items (một query batch cho cả 20 đơn)
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<RecentOrderResponse> newOrders = readOnly.execute(status -> dashboardMapper.toRecentOrders(
+                orderRepository.findTop20ByIdGreaterThanOrderByIdAsc(lastOrderId)));
+        if (!newOrders.isEmpty()) {
+            lastOrderId = newOrders.getLast().getId();
+        }
+        List<RecentActivityResponse> newActivities = dashboardMapper.toRecentActivities(
+                notificationRepository.findTop20ByIdGreaterThanOrderByIdAsc(lastNotificationId));
+        if (!newActivities.isEmpty()) {
+            lastNotificationId = newActivities.getLast().getId();
+        }
+
+        Long users = totalUsers;
+        Long orders = totalOrders == null ? null : totalOrders + newOrders.size();
+        Money revenue = totalRevenue;
+        long now = System.currentTimeMillis();
+        if (totalUsers == null || now - countersRefreshedAt >= countersRefreshMs) {
+            users = userRepository.count();
+            orders = orderRepository.count() + orderArchiveService.archivedCount();
+            revenue = orderRepository.calculateTotalRevenue().plus(orderArchiveService.archivedRevenue());
+            countersRefreshedAt = now;
+        }
+        DashboardDeltaResponse delta = new DashboardDeltaResponse(
+                Objects.equals(users, totalUsers) ? null : users,
+                Objects.equals(orders, totalOrders) ? null : orders,
+                Objects.equals(revenue, totalRevenue) ? null : revenue.toBigDecimal(),
+                newOrders,
+                newActivities);
+        totalUsers = users;
+        totalOrders = orders;
+        totalRevenue = revenue;
+
+        boolean unchanged = delta.getTotalUsers() == null && delta.getTotalOrders() == null
+                && delta.getTotalRevenue() == null && newOrders.isEmpty() && newActivities.isEmpty();
+        return unchanged ? null : delta;
+    }
+
+    /** Gộp delta chưa gửi với delta mới: counters lấy giá trị mới nhất, dòng mới nối tiếp (giữ các dòng cuối). */
+    private static DashboardDeltaResponse merge(DashboardDeltaResponse older, DashboardDeltaResponse newer) {
+        return new DashboardDeltaResponse(
+                newer.getTotalUsers() != null ? newer.getTotalUsers() : older.getTotalUsers(),
+                newer.getTotalOrders() != null ? newer.getTotalOrders() : older.getTotalOrders(),
+                newer.getTotalRevenue() != null ? newer.getTotalRevenue() : older.getTotalRevenue(),
+                tail(older.getNewOrders(), newer.getNewOrders()),
+                tail(older.getNewActivities(), newer.getNewActivities()));
+    }
+
+    private static <T> List<T> tail(List<T> older, List<T> newer) {
+        List<T> rows = new ArrayList<>(older.size() + newer.size());
+        rows.addAll(older);
+        rows.addAll(newer);
+        return rows.size() <= MAX_PENDING_ROWS ? rows : List.copyOf(rows.subList(rows.size() - MAX_PENDING_ROWS, rows.size()));
+    }
+
+    private void send(SseEmitter emitter, String payload) {
+        try {
+            if (payload == null) {
+                // heartbeat: phát hiện connection đã đóng
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event().name("delta").data(payload, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        emitters.keySet().forEach(SseEmitter::complete);
+        senders.shutdown();
+    }
+}
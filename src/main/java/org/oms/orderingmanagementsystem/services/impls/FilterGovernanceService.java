@@ -0,0 +1,167 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.governance.IndexAdvisor;
+import org.oms.orderingmanagementsystem.commons.governance.IndexAdvisor.Condition;
+import org.oms.orderingmanagementsystem.commons.governance.IndexCatalog;
+import org.oms.orderingmanagementsystem.securities.configs.FilterGovernanceProperties;
+import org.oms.orderingmanagementsystem.securities.exceptions.InvalidFilterException;
+import org.oms.orderingmanagementsystem.securities.exceptions.UnindexedFilterException;
+import org.oms.orderingmanagementsystem.securities.filters.ParameterFilter;
+import org.oms.orderingmanagementsystem.services.interfaces.FilterGovernanceServiceInterface;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class FilterGovernanceService implements FilterGovernanceServiceInterface {
+
+    private final IndexCatalog indexCatalog;
+    private final IndexAdvisor indexAdvisor;
+    private final FilterGovernanceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // hạn mức query không index, mỗi entity một bucket
+    private final Map<Class<?>, Bucket> unindexedBuckets = new ConcurrentHashMap<>();
+
+    // kết quả phân loại theo tổ hợp filter / sort (không kèm giá trị), tối đa max-tracked-combinations
+    private final Map<String, Boolean> classifications = new ConcurrentHashMap<>();
+
+    @Override
+    public void check(Class<?> entity, Map<String, String[]> params) {
+        admit(entity, params).run();
+    }
+
+    @Override
+    public Runnable admit(Class<?> entity, Map<String, String[]> params) {
+        List<Condition> conditions = new ArrayList<>();
+        ParameterFilter.filterSimple(params).keySet()
+                .forEach(field -> conditions.add(condition(entity, field, "eq")));
+        ParameterFilter.filterComplex(params).forEach((field, ops) ->
+                ops.keySet().forEach(op -> conditions.add(condition(entity, field, op))));
+
+        // mọi field sort đều được kiểm tra, không chỉ field đầu (sort=createdAt,password,desc)
+        List<Condition> sort = ParameterFilter.filterSort(params).stream()
+                .map(order -> condition(entity, order.getProperty(), "sort"))
+                .toList();
+
+        boolean indexed = classify(entity, conditions, sort);
+        indexAdvisor.record(entity, conditions, sort, indexed);
+        if (indexed) {
+            count(entity, "indexed");
+            return () -> { };
+        }
+        return () -> enforce(entity);
+    }
+
+    private void enforce(Class<?> entity) {
+        switch (properties.getUnindexed()) {
+            case ALLOW -> count(entity, "unindexed");
+            case REJECT -> {
+                count(entity, "rejected");
+                throw new UnindexedFilterException("Filter combination is not supported by an index", false);
+            }
+            case RATE_LIMIT -> {
+                if (!bucket(entity).tryConsume(1)) {
+                    count(entity, "throttled");
+                    throw new UnindexedFilterException(
+                            "Too many unindexed " + entity.getSimpleName() + " queries, narrow the filter", true);
+                }
+                count(entity, "unindexed");
+            }
+        }
+    }
+
+    private boolean classify(Class<?> entity, List<Condition> conditions, List<Condition> sort) {
+        List<String> filters = new ArrayList<>();
+        conditions.forEach(c -> filters.add(c.path() + "[" + c.operator() + "]"));
+        filters.sort(null);
+        String key = entity.getName() + "|" + filters + "|" + sort.stream().map(Condition::path).toList();
+        Boolean cached = classifications.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        boolean indexed = isIndexed(entity, conditions, sort);
+        if (classifications.size() < properties.getMaxTrackedCombinations()) {
+            classifications.put(key, indexed);
+        }
+        return indexed;
+    }
+
+    /**
+     * Deny được so trên từng chặng (entity, attribute) sau khi đi qua join, không chỉ path gốc:
+     * deny.user=password chặn cả user.password trên Order, deny.order=user chặn mọi path user.*.
+     */
+    private Condition condition(Class<?> entity, String path, String operator) {
+        if (properties.isDenied(entity, path)) {
+            throw new InvalidFilterException("Filtering on '" + path + "' is not allowed");
+        }
+        IndexCatalog.ResolvedColumn column = indexCatalog.resolve(entity, path)
+                .orElseThrow(() -> new InvalidFilterException("Unknown filter field '" + path + "'"));
+        for (IndexCatalog.Step step : column.steps()) {
+            if (properties.isDenied(step.entity(), step.attribute())) {
+                throw new InvalidFilterException("Filtering on '" + path + "' is not allowed");
+            }
+        }
+        return new Condition(path, operator, column);
+    }
+
+    /**
+     * Theo Equality - Sort - Range:
+     * - filter phải có ít nhất một điều kiện sargable (eq / in / range) rơi vào cột có index hoặc path được allow
+     * - có sort thì thêm: có index (cột equality..., cột sort...) để đọc sẵn thứ tự, hoặc mọi field sort
+     *   được allow; không có filter thì đó là index bắt đầu bằng đúng các cột sort
+     * vd. status=PENDING&sort=createdAt,desc đi theo idx_order_status_created, không filesort.
+     */
+    private boolean isIndexed(Class<?> entity, List<Condition> conditions, List<Condition> sort) {
+        boolean filtered = conditions.isEmpty() || conditions.stream()
+                .anyMatch(c -> IndexAdvisor.isSargable(c.operator()) && covered(entity, c));
+        return filtered && (sort.isEmpty() || sortCovered(entity, conditions, sort));
+    }
+
+    private boolean sortCovered(Class<?> entity, List<Condition> conditions, List<Condition> sort) {
+        if (sort.stream().allMatch(s -> allowed(entity, s))) {
+            return true;
+        }
+        if (sort.stream().anyMatch(s -> s.column().owner() != entity)) {
+            return false;
+        }
+        Set<String> equality = conditions.stream()
+                .filter(c -> IndexAdvisor.isEquality(c.operator()) && c.column().owner() == entity)
+                .map(c -> c.column().column())
+                .collect(Collectors.toSet());
+        return indexCatalog.supportsEqualitySort(entity, equality,
+                sort.stream().map(s -> s.column().column()).toList());
+    }
+
+    private boolean covered(Class<?> entity, Condition condition) {
+        return condition.column().indexed() || allowed(entity, condition);
+    }
+
+    private boolean allowed(Class<?> entity, Condition condition) {
+        IndexCatalog.Step leaf = condition.column().leaf();
+        return properties.isAllowed(entity, condition.path())
+                || properties.isAllowed(leaf.entity(), leaf.attribute());
+    }
+
+    private Bucket bucket(Class<?> entity) {
+        return unindexedBuckets.computeIfAbsent(entity, k -> Bucket.builder()
+                .addLimit(Bandwidth.simple(properties.getUnindexedPerMinute(), Duration.ofMinutes(1)))
+                .build());
+    }
+
+    private void count(Class<?> entity, String result) {
+        meterRegistry.counter("oms.filter.governance",
+                "entity", entity.getSimpleName(), "result", result).increment();
+    }
+}
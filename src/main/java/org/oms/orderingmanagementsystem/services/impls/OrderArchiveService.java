@@ -0,0 +1,136 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.commons.partition.MonthlyPartitionManager;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.oms.orderingmanagementsystem.securities.configs.OrderArchiveProperties;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chuyển đơn đã đóng sang orders_archive / order_item_archive theo batch:
+ * INSERT ... SELECT rồi DELETE khỏi bảng nóng trong cùng transaction, nên một đơn
+ * luôn nằm ở đúng một trong hai nơi.
+ *
+ * Dùng native SQL có khai báo query space, để Hibernate chỉ invalidate query cache
+ * của các bảng bị đụng tới (không phải toàn bộ second-level cache).
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService implements OrderArchiveServiceInterface {
+
+    private static final List<String> CLOSED = List.of(OrderStatus.COMPLETED.name(), OrderStatus.CANCELLED.name());
+
+    private final OrderArchiveProperties properties;
+    private final MonthlyPartitionManager partitionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AtomicLong archivedCount = new AtomicLong(-1);
+    private final AtomicLong archivedRevenueMinor = new AtomicLong();
+
+    @Override
+    public LocalDateTime cutoff() {
+        // luôn là đầu tháng: mỗi partition archive chứa trọn một tháng
+        return LocalDate.now().withDayOfMonth(1).minusMonths(properties.getClosedAfterMonths()).atStartOfDay();
+    }
+
+    @Override
+    public void maintainPartitions() {
+        if (!properties.isPartitioned()) return;
+        YearMonth through = YearMonth.from(cutoff());
+        partitionManager.ensure("orders_archive", "created_at", through);
+        partitionManager.ensure("order_item_archive", "order_created_at", through);
+        if (properties.getDropAfterMonths() > 0) {
+            YearMonth oldest = YearMonth.now().minusMonths(properties.getDropAfterMonths());
+            partitionManager.dropBefore("orders_archive", oldest);
+            partitionManager.dropBefore("order_item_archive", oldest);
+        }
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int archiveBatch(LocalDateTime cutoff) {
+        // đi theo idx_order_created_pagination (created_at, id)
+        List<Number> rows = entityManager.createNativeQuery("""
+                        SELECT o.id FROM orders o
+                        WHERE o.created_at < :cutoff AND o.status IN (:closed)
+                        ORDER BY o.created_at, o.id
+                        LIMIT :limit""")
+                .setParameter("cutoff", cutoff)
+                .setParameter("closed", CLOSED)
+                .setParameter("limit", properties.getBatchSize())
+                .getResultList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(Number::longValue).toList();
+
+        update("orders_archive", """
+                INSERT INTO orders_archive (id, created_at, user_id, status, subtotal, archived_at, version)
+                SELECT o.id, o.created_at, o.user_id, o.status,
+                       COALESCE((SELECT SUM(i.subtotal) FROM order_item i WHERE i.order_id = o.id), 0),
+                       CURRENT_TIMESTAMP, o.version
+                FROM orders o WHERE o.id IN (:ids)""", ids);
+        update("order_item_archive", """
+                INSERT INTO order_item_archive (id, order_created_at, order_id, product_id, quantity, price_at_order, subtotal)
+                SELECT i.id, o.created_at, i.order_id, i.product_id, i.quantity, i.price_at_order, i.subtotal
+                FROM order_item i JOIN orders o ON o.id = i.order_id
+                WHERE i.order_id IN (:ids)""", ids);
+        update("order_item", "DELETE FROM order_item WHERE order_id IN (:ids)", ids);
+        update("orders", "DELETE FROM orders WHERE id IN (:ids)", ids);
+        return ids.size();
+    }
+
+    @Override
+    public long archivedCount() {
+        if (archivedCount.get() < 0) {
+            refreshArchivedCount();
+        }
+        return archivedCount.get();
+    }
+
+    @Override
+    public Money archivedRevenue() {
+        if (archivedCount.get() < 0) {
+            refreshArchivedCount();
+        }
+        return Money.ofMinor(archivedRevenueMinor.get());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshArchivedCount() {
+        // subtotal của orders_archive đã tính sẵn lúc archive, không đụng order_item_archive
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+                        SELECT COUNT(*), COALESCE(SUM(CASE WHEN status <> :cancelled THEN subtotal END), 0)
+                        FROM orders_archive""")
+                .setParameter("cancelled", OrderStatus.CANCELLED.name())
+                .getSingleResult();
+        // doanh thu ghi trước count: ai thấy count >= 0 thì cũng thấy doanh thu của lần đếm này
+        archivedRevenueMinor.set(Money.of((BigDecimal) row[1]).minor());
+        archivedCount.set(((Number) row[0]).longValue());
+    }
+
+    private void update(String table, String sql, List<Long> ids) {
+        entityManager.createNativeQuery(sql)
+                .setParameter("ids", ids)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(table)
+                .executeUpdate();
+    }
+}
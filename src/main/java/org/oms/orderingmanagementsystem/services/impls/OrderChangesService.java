@@ -0,0 +1,113 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.OrderFetchSpecification;
+import org.oms.orderingmanagementsystem.commons.ProjectionQuery;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudget;
+import org.oms.orderingmanagementsystem.dtos.response.OrderChangesResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.mappers.OrderMapper;
+import org.oms.orderingmanagementsystem.securities.exceptions.InvalidFilterException;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderChangesServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Delta sync cho client mobile / partner: thay vì tải lại cả trang /api/order/v1 để dò thay đổi,
+ * client giữ token và chỉ nhận các đơn có updated_at sau token.
+ *
+ * - keyset trên (updated_at, id) ASC, range scan trên idx_order_updated
+ * - updated_at do DB ghi (ON UPDATE + trigger order_item), cùng một đồng hồ với mốc settle bên dưới
+ * - chỉ đọc tới (giờ DB - settle): transaction ghi trước đó nhưng commit chậm vẫn lọt vào lần poll sau,
+ *   không bị token vượt qua. Không dùng bộ đếm version toàn cục để khỏi biến một dòng counter
+ *   thành điểm nóng của mọi lần ghi đơn.
+ *
+ * Đơn bị archive không xuất hiện ở đây: archive chỉ chuyển đơn đã đóng, không đổi nội dung.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderChangesService implements OrderChangesServiceInterface {
+
+    private static final Sort OLDEST_CHANGE_FIRST = Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("id"));
+
+    private final OrderMapper orderMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.orders.changes.page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.orders.changes.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.orders.changes.settle-ms:5000}")
+    private long settleMs;
+
+    private record Token(LocalDateTime updatedAt, Long id) {
+    }
+
+    @SqlBudget(statements = 2)
+    @Transactional(readOnly = true)
+    @Override
+    public OrderChangesResponse changes(String since, Integer size) {
+        Token token = decode(since);
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+
+        LocalDateTime now = (LocalDateTime) entityManager
+                .createNativeQuery("SELECT LOCALTIMESTAMP(6)", LocalDateTime.class)
+                .getSingleResult();
+        Specification<Order> specification =
+                OrderFetchSpecification.changedBefore(now.minus(Duration.ofMillis(settleMs)));
+        if (token != null) {
+            specification = specification.and(OrderFetchSpecification.changedAfter(token.updatedAt(), token.id()));
+        }
+
+        // lấy dư một dòng để biết còn trang sau hay không
+        List<ProjectionQuery.Row> rows = ProjectionQuery.rows(entityManager, Order.class, specification,
+                OLDEST_CHANGE_FIRST, 0, limit + 1, OrderService.HOT_LIST);
+
+        int count = Math.min(rows.size(), limit);
+        List<OrderResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(orderMapper.toResponse(rows.get(i).tuple()));
+        }
+        // không có gì mới: giữ nguyên token để client poll lại từ cùng vị trí
+        String next = count == 0 ? since : encode(rows.get(count - 1));
+        return new OrderChangesResponse(items, next, rows.size() > limit);
+    }
+
+    /** Token = base64url("updatedAt|id") của đơn cuối trang. */
+    private static String encode(ProjectionQuery.Row last) {
+        String raw = last.sortKeys().get(0) + "|" + last.sortKeys().get(1);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Token decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Token(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidFilterException("Invalid token");
+        }
+    }
+}
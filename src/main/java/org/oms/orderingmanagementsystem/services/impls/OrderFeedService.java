@@ -0,0 +1,188 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.oms.orderingmanagementsystem.commons.OrderFetchSpecification;
+import org.oms.orderingmanagementsystem.commons.ProjectionQuery;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangedEvent;
+import org.oms.orderingmanagementsystem.commons.events.OrderStatusChangedEvent;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudget;
+import org.oms.orderingmanagementsystem.dtos.response.OrderFeedResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrder;
+import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.oms.orderingmanagementsystem.mappers.OrderMapper;
+import org.oms.orderingmanagementsystem.securities.exceptions.InvalidFilterException;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderFeedServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Order feed theo user (trang "đơn hàng của tôi"):
+ * - keyset trên (created_at, id) DESC, đi thẳng index (user_id[, status], created_at, id),
+ *   trang sâu không phải đọc rồi bỏ offset dòng như pagination thường
+ * - chỉ đọc archive khi trang chạm tới vùng trước cutoff (mọi đơn archive đều cũ hơn cutoff)
+ * - trang đầu (page size mặc định) được cache theo user, xoá khi đơn của user thay đổi
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderFeedService implements OrderFeedServiceInterface {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final String ALL_STATUSES = "*";
+
+    private final OrderMapper orderMapper;
+    private final OrderArchiveServiceInterface orderArchiveService;
+    private final Cache<Long, ConcurrentMap<String, OrderFeedResponse>> orderFeedCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.orders.feed.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.orders.feed.max-page-size:50}")
+    private int maxPageSize;
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    @SqlBudget(statements = 2)
+    @Transactional(readOnly = true)
+    @Override
+    public OrderFeedResponse feed(Long userId, String status, String cursor, Integer size) {
+        OrderStatus orderStatus = parseStatus(status);
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        if (cursor != null && !cursor.isBlank() || limit != defaultPageSize) {
+            return load(userId, orderStatus, decode(cursor), limit);
+        }
+
+        // lấy map của user TRƯỚC khi query: nếu đơn thay đổi (invalidate) trong lúc query thì
+        // trang vừa đọc chỉ được ghi vào map cũ đã rời cache, không ghi đè dữ liệu mới
+        ConcurrentMap<String, OrderFeedResponse> pages = orderFeedCache.get(userId, k -> new ConcurrentHashMap<>());
+        String key = orderStatus == null ? ALL_STATUSES : orderStatus.name();
+        OrderFeedResponse cached = pages.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        OrderFeedResponse page = load(userId, orderStatus, null, limit);
+        pages.put(key, page);
+        return page;
+    }
+
+    /** Đơn của user được thêm / sửa / xoá qua JPA: bỏ mọi trang đầu đã cache của user đó. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entity() instanceof Order order && order.getUser() != null && order.getUser().getId() != null) {
+            orderFeedCache.invalidate(order.getUser().getId());
+        }
+    }
+
+    /** Trạng thái đổi bằng compare-and-set (OrderStatusService), không qua JPA entity. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.userId() != null) {
+            orderFeedCache.invalidate(event.userId());
+        }
+    }
+
+    private OrderFeedResponse load(Long userId, OrderStatus status, Cursor cursor, int limit) {
+        // lấy dư một dòng để biết còn trang sau hay không
+        List<ProjectionQuery.Row> hot = ProjectionQuery.rows(entityManager, Order.class,
+                specification(userId, status, cursor), NEWEST_FIRST, 0, limit + 1, OrderService.HOT_LIST);
+
+        List<ProjectionQuery.Row> rows = hot;
+        if (needsArchive(hot, status, limit)) {
+            List<ProjectionQuery.Row> archived = ProjectionQuery.rows(entityManager, ArchivedOrder.class,
+                    specification(userId, status, cursor), NEWEST_FIRST, 0, limit + 1, OrderService.ARCHIVE_LIST);
+            rows = Stream.concat(hot.stream(), archived.stream())
+                    .sorted(ProjectionQuery.sortKeyComparator(NEWEST_FIRST))
+                    .limit(limit + 1)
+                    .toList();
+        }
+
+        List<OrderResponse> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(orderMapper.toResponse(rows.get(i).tuple()));
+        }
+        String next = rows.size() > limit ? encode(items.get(limit - 1)) : null;
+        return new OrderFeedResponse(items, next);
+    }
+
+    /**
+     * Archive chỉ có đơn đã đóng tạo trước cutoff. Nếu bảng nóng đã đủ (limit + 1) dòng và dòng cuối
+     * vẫn không cũ hơn cutoff thì không dòng archive nào lọt vào trang này.
+     */
+    private boolean needsArchive(List<ProjectionQuery.Row> hot, OrderStatus status, int limit) {
+        if (status != null && !OrderService.ARCHIVED_STATUSES.contains(status.name())) {
+            return false;
+        }
+        if (hot.size() <= limit) {
+            return true;
+        }
+        LocalDateTime oldest = hot.get(limit).tuple().get("createdAt", LocalDateTime.class);
+        return oldest == null || oldest.isBefore(orderArchiveService.cutoff());
+    }
+
+    private static <T> Specification<T> specification(Long userId, OrderStatus status, Cursor cursor) {
+        Specification<T> specification = OrderFetchSpecification.userIs(userId);
+        if (status != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (cursor != null) {
+            specification = specification.and(OrderFetchSpecification.after(cursor.createdAt(), cursor.id()));
+        }
+        return specification;
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFilterException("Unknown order status: " + status);
+        }
+    }
+
+    /** Cursor = base64url("createdAt|id") của đơn cuối trang; createdAt rỗng khi NULL. */
+    private static String encode(OrderResponse last) {
+        String raw = (last.getCreatedAt() == null ? "" : last.getCreatedAt().toString()) + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String createdAt = raw.substring(0, separator);
+            return new Cursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidFilterException("Invalid cursor");
+        }
+    }
+}
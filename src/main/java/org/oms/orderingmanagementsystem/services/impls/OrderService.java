@@ -1,38 +1,117 @@
 package org.oms.orderingmanagementsystem.services.impls;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import org.oms.orderingmanagementsystem.commons.BaseService;
 import org.oms.orderingmanagementsystem.commons.BaseSpecification;
 import org.oms.orderingmanagementsystem.commons.OrderFetchSpecification;
+import org.oms.orderingmanagementsystem.commons.ProjectionQuery;
+import org.oms.orderingmanagementsystem.commons.coalescing.RequestCoalescer;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudget;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsContext;
+import org.oms.orderingmanagementsystem.dtos.response.OrderDetailResponse;
+import org.oms.orderingmanagementsystem.dtos.response.OrderItemResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrder;
+import org.oms.orderingmanagementsystem.entities.ArchivedOrderItem;
 import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.entities.OrderItem;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.oms.orderingmanagementsystem.entities.User;
 import org.oms.orderingmanagementsystem.mappers.OrderMapper;
+import org.oms.orderingmanagementsystem.repositories.ArchivedOrderRepository;
 import org.oms.orderingmanagementsystem.repositories.OrderRepository;
 import org.oms.orderingmanagementsystem.securities.filters.ParameterFilter;
+import org.oms.orderingmanagementsystem.services.interfaces.FilterGovernanceServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderArchiveServiceInterface;
 import org.oms.orderingmanagementsystem.services.interfaces.OrderServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.SearchIndexServiceInterface;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService extends BaseService implements OrderServiceInterface {
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final SearchIndexServiceInterface searchIndexService;
+    private final FilterGovernanceServiceInterface filterGovernanceService;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchiveServiceInterface orderArchiveService;
+    private final Cache<Long, OrderDetail> closedOrderDetails;
+    private final RequestCoalescer<Object, Page<OrderResponse>> orderListCoalescer;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     private static final String[] KEYWORD_FIELDS = {
            "status"
     };
     private static final int MAX_PAGE_SIZE = 100;
+    /** Cột của OrderResponse; subtotal là SUM(order_item.subtotal) bằng subquery tương quan. */
+    static final ProjectionQuery.Projection<Order> HOT_LIST = (root, query, cb) -> {
+        Join<Order, User> user = ProjectionQuery.join(root, "user");
+        // SUM trên cột decimal luôn ra BigDecimal (Hibernate không áp MoneyConverter cho kết quả aggregate)
+        Subquery<BigDecimal> subtotal = query.subquery(BigDecimal.class);
+        Root<OrderItem> item = subtotal.from(OrderItem.class);
+        subtotal.select(cb.sum(item.<BigDecimal>get("subtotal"))).where(cb.equal(item.get("order"), root));
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("status").alias("status"),
+                user.get("name").alias("username"),
+                subtotal.alias("subtotal"),
+                root.get("createdAt").alias("createdAt"));
+    };
+
+    /** Như HOT_LIST, subtotal của đơn archive đã tính sẵn. */
+    static final ProjectionQuery.Projection<ArchivedOrder> ARCHIVE_LIST = (root, query, cb) -> {
+        Join<ArchivedOrder, User> user = ProjectionQuery.join(root, "user");
+        return List.of(
+                root.get("id").alias("id"),
+                root.get("status").alias("status"),
+                user.get("name").alias("username"),
+                root.get("subtotal").alias("subtotal"),
+                root.get("createdAt").alias("createdAt"));
+    };
+
+    static final Set<String> ARCHIVED_STATUSES =
+            Set.of(OrderStatus.COMPLETED.name(), OrderStatus.CANCELLED.name());
+
+    /** Request danh sách đã chuẩn hoá: hai request khác thứ tự tham số vẫn cùng key (Map so sánh theo nội dung). */
+    private record ListQuery(int page, int size, Sort sort, String keyword, Map<String, String> filterSimple,
+                             Map<String, Map<String, String>> filterComplex) {
+    }
 
     /**
      * FIXED: Changed to return OrderResponse directly
      * Maps within transaction so lazy-loaded relationships are accessible
      * This prevents LazyInitializationException for v1 endpoint
+     *
+     * Request giống hệt nhau chạy đồng thời dùng chung một lần query (orderListCoalescer). Không
+     * @Transactional ở đây: chỉ leader mở transaction readOnly, các caller đang chờ không giữ connection.
      */
-    @Transactional
+    @SqlBudget(statements = 4)
     @Override
     public Page<OrderResponse> pagination(Map<String, String[]> params) {
         int page = params.containsKey("page") ? Integer.parseInt(params.get("page")[0]) - 1 : 0;
@@ -49,19 +128,119 @@ public class OrderService extends BaseService implements OrderServiceInterface {
             page = 0;
         }
 
+        // chặn filter / sort vào field không tồn tại hoặc bị cấm; tổ hợp không có index chỉ tính cho leader
+        Runnable governance = filterGovernanceService.admit(Order.class, params);
         Sort sort = sortParam(params);
+        SqlStatsContext.filterShape(filterShape(params));
 
         String keyword = ParameterFilter.filtertKeyword(params);
-        Map<String, String> filterSimple = ParameterFilter.filterSimple(params);
-        Map<String, Map<String, String>> filterComplex = ParameterFilter.filterComplex(params);
+        ListQuery query = new ListQuery(page, size, sort, keyword == null ? null : keyword.trim(),
+                ParameterFilter.filterSimple(params), ParameterFilter.filterComplex(params));
+
+        return orderListCoalescer.get(query, () -> {
+            governance.run();
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            return tx.execute(status -> load(query));
+        });
+    }
+
+    private Page<OrderResponse> load(ListQuery query) {
+        Pageable pageable = PageRequest.of(query.page(), query.size(), query.sort());
+        String keyword = query.keyword();
+        Map<String, String> filterSimple = query.filterSimple();
+        Map<String, Map<String, String>> filterComplex = query.filterComplex();
+
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        Optional<Set<Long>> userIds = hasKeyword ? searchIndexService.searchUserIds(keyword) : Optional.empty();
+        Optional<Set<Long>> productIds = hasKeyword ? searchIndexService.searchProductIds(keyword) : Optional.empty();
+        Specification<Order> specification = specification(keyword, userIds,
+                productIds.map(OrderFetchSpecification::productIn)
+                        .orElseGet(() -> OrderFetchSpecification.joinProductByName(keyword)),
+                filterSimple, filterComplex);
+
+        if (!reachesArchive(filterSimple, filterComplex)) {
+            // select thẳng các cột của OrderResponse, không load entity Order / User / items
+            return ProjectionQuery.page(entityManager, Order.class, specification, pageable,
+                    HOT_LIST, orderMapper::toResponse);
+        }
+        return withArchive(specification, specification(keyword, userIds,
+                productIds.map(OrderFetchSpecification::archivedProductIn)
+                        .orElseGet(() -> OrderFetchSpecification.archivedProductByName(keyword)),
+                filterSimple, filterComplex), pageable);
+    }
+
+    /**
+     * Đơn còn ở bảng nóng: 1 query (version theo PK).
+     * Đơn đã archive: 2 query (bảng nóng trượt, rồi version theo idx_order_archive_id).
+     */
+    @SqlBudget(statements = 2)
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> detailETag(Long id) {
+        OrderDetail cached = closedOrderDetails.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.eTag());
+        }
+        return orderRepository.findVersionById(id)
+                .or(() -> archivedOrderRepository.findVersionById(id))
+                .map(version -> eTag(id, version));
+    }
+
+    /**
+     * Đơn còn ở bảng nóng: 1 query (entity graph user + items + product).
+     * Đơn đã archive: 3 query (bảng nóng trượt, order + user theo idx_order_archive_id,
+     * items + tên product trong partition của đơn).
+     */
+    @SqlBudget(statements = 3)
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<OrderDetail> detail(Long id) {
+        OrderDetail cached = closedOrderDetails.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<OrderDetail> detail = orderRepository.findDetailById(id)
+                .map(order -> new OrderDetail(eTag(id, order.getVersion()), orderMapper.toDetailResponse(order)));
+        if (detail.isEmpty()) {
+            detail = archivedOrderRepository.findFirstById(id).map(this::archivedDetail);
+        }
+        detail.filter(d -> ARCHIVED_STATUSES.contains(d.body().getStatus()))
+                .ifPresent(d -> closedOrderDetails.put(id, d));
+        return detail;
+    }
+
+    private OrderDetail archivedDetail(ArchivedOrder order) {
+        OrderDetailResponse body = orderMapper.toDetailResponse(order);
+        body.setItems(archivedOrderRepository.findItemsWithProductName(order.getId(), order.getCreatedAt()).stream()
+                .map(row -> {
+                    OrderItemResponse item = orderMapper.toItemResponse((ArchivedOrderItem) row[0]);
+                    item.setProductName((String) row[1]);
+                    return item;
+                })
+                .toList());
+        return new OrderDetail(eTag(order.getId(), order.getVersion()), body);
+    }
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+    private static String eTag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
 
-        Specification<Order> specification = Specification.where(
-                        BaseSpecification.<Order>keyword(keyword, KEYWORD_FIELDS));
+    private <T> Specification<T> specification(String keyword, Optional<Set<Long>> userIds,
+                                               Specification<T> byProduct,
+                                               Map<String, String> filterSimple,
+                                               Map<String, Map<String, String>> filterComplex) {
+        Specification<T> specification = Specification.where(
+                        BaseSpecification.<T>keyword(keyword, KEYWORD_FIELDS));
 
         if (keyword != null && !keyword.isBlank()) {
-            specification = specification.and(OrderFetchSpecification.joinUserFilter(keyword));
+            // keyword khớp status HOẶC tên khách hàng HOẶC product trong đơn:
+            // user_id IN / EXISTS item có product_id IN (ids từ search index); index chưa sẵn sàng thì fallback LIKE
+            specification = specification.or(userIds
+                    .map(OrderFetchSpecification::<T>userIn)
+                    .orElseGet(() -> OrderFetchSpecification.joinUserFilter(keyword)))
+                    .or(byProduct);
         }
 
         if (!filterSimple.isEmpty()) {
@@ -71,9 +250,83 @@ public class OrderService extends BaseService implements OrderServiceInterface {
         if (!filterComplex.isEmpty()) {
             specification = specification.and(BaseSpecification.complexWhereSpec(filterComplex));
         }
+        return specification;
+    }
 
-        Page<Order> orders = orderRepository.findAllSlice(specification, pageable);
+    /**
+     * Archive chỉ chứa đơn COMPLETED / CANCELLED tạo trước cutoff, nên chỉ cần đọc thêm
+     * archive khi filter createdAt phủ tới trước cutoff và status (nếu có) là trạng thái đã đóng:
+     * - eq / cận dưới (gte, gt) trước cutoff;
+     * - chỉ có cận trên (lt, lte): khoảng không chặn dưới nên luôn chạm archive
+     *   (cận trên trước cutoff thì gần như toàn bộ kết quả nằm ở archive).
+     * Không filter createdAt thì danh sách mặc định chỉ đọc bảng nóng.
+     * Filter theo items không áp dụng được cho archive (archive không map quan hệ items).
+     */
+    private boolean reachesArchive(Map<String, String> filterSimple, Map<String, Map<String, String>> filterComplex) {
+        Map<String, String> createdAt = new HashMap<>(filterComplex.getOrDefault("createdAt", Map.of()));
+        if (filterSimple.containsKey("createdAt")) createdAt.put("eq", filterSimple.get("createdAt"));
+        LocalDateTime from = firstDateTime(createdAt, "eq", "gte", "gt");
+        LocalDateTime to = firstDateTime(createdAt, "lte", "lt");
+        boolean olderThanCutoff = from != null
+                ? from.isBefore(orderArchiveService.cutoff())
+                : to != null;
+        if (!olderThanCutoff) {
+            return false;
+        }
 
-        return orderMapper.toPageResponse(orders);
+        String status = filterSimple.getOrDefault("status",
+                filterComplex.getOrDefault("status", Map.of()).get("eq"));
+        if (status != null && !ARCHIVED_STATUSES.contains(status.trim().toUpperCase())) {
+            return false;
+        }
+        return filterComplex.keySet().stream().noneMatch(path -> path.startsWith("items"));
+    }
+
+    /**
+     * Gộp kết quả bảng nóng và archive: lấy (offset + size) dòng đầu của mỗi bên theo cùng Sort,
+     * trộn rồi cắt đúng trang. Trang sâu trên khoảng thời gian vắt qua cả hai tầng sẽ đọc nhiều
+     * dòng hơn, nhưng chỉ xảy ra khi client chủ động lọc vào dữ liệu cũ.
+     */
+    private Page<OrderResponse> withArchive(Specification<Order> hotSpec, Specification<ArchivedOrder> archiveSpec,
+                                            Pageable pageable) {
+        int window = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        List<ProjectionQuery.Row> hot = ProjectionQuery.rows(entityManager, Order.class, hotSpec,
+                pageable.getSort(), 0, window, HOT_LIST);
+        List<ProjectionQuery.Row> archived = ProjectionQuery.rows(entityManager, ArchivedOrder.class, archiveSpec,
+                pageable.getSort(), 0, window, ARCHIVE_LIST);
+
+        List<OrderResponse> content = Stream.concat(hot.stream(), archived.stream())
+                .sorted(ProjectionQuery.sortKeyComparator(pageable.getSort()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(row -> orderMapper.toResponse(row.tuple()))
+                .toList();
+        long total = ProjectionQuery.count(entityManager, Order.class, hotSpec)
+                + ProjectionQuery.count(entityManager, ArchivedOrder.class, archiveSpec);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static LocalDateTime firstDateTime(Map<String, String> operators, String... ops) {
+        return Stream.of(ops)
+                .map(op -> parseDateTime(operators.get(op)))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) return null;
+        String s = value.trim();
+        if ("now".equalsIgnoreCase(s)) return LocalDateTime.now();
+        if ("today".equalsIgnoreCase(s)) return LocalDate.now().atStartOfDay();
+        try {
+            return LocalDateTime.parse(s);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(s).atStartOfDay();
+            } catch (DateTimeParseException ignore) {
+                return null;
+            }
+        }
     }
 }
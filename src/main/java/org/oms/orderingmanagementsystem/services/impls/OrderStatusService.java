@@ -0,0 +1,103 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.events.OrderStatusChangedEvent;
+import org.oms.orderingmanagementsystem.dtos.response.OrderStatusResponse;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.oms.orderingmanagementsystem.repositories.OrderRepository;
+import org.oms.orderingmanagementsystem.repositories.OrderRepository.StatusSnapshot;
+import org.oms.orderingmanagementsystem.securities.exceptions.OrderStatusConflictException;
+import org.oms.orderingmanagementsystem.services.interfaces.OrderStatusServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chuyển trạng thái đơn không khoá (callback thanh toán, thao tác admin chạy đồng thời):
+ * đọc (status, version) rồi UPDATE ... WHERE id = ? AND status = ? AND version = ?.
+ * Thua race (0 dòng) thì đọc lại, kiểm tra lại bảng chuyển trạng thái và thử tiếp, tối đa max-attempts lần.
+ *
+ * Cố ý KHÔNG @Transactional: mỗi lần đọc / UPDATE là transaction riêng ngắn nhất có thể, nên
+ * không ai giữ row lock ngoài thời gian chạy câu UPDATE, và lần đọc lại thấy dữ liệu đã commit
+ * (REPEATABLE READ trong cùng transaction sẽ đọc lại đúng snapshot cũ).
+ * Không load entity Order nên items không bao giờ bị chạm tới.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusService implements OrderStatusServiceInterface {
+
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher publisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.orders.status.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.orders.status.retry-backoff-ms:5}")
+    private long retryBackoffMs;
+
+    @Override
+    public Optional<OrderStatusResponse> transition(Long id, OrderStatus target, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<StatusSnapshot> found = orderRepository.findStatusById(id);
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            StatusSnapshot current = found.get();
+            if (expectedVersion != null && expectedVersion != current.getVersion()) {
+                count("stale");
+                throw new OrderStatusConflictException("Order " + id + " is at version " + current.getVersion()
+                        + ", expected " + expectedVersion);
+            }
+            if (current.getStatus() == target) {
+                count("unchanged");
+                return Optional.of(new OrderStatusResponse(id, target.name(), current.getVersion()));
+            }
+            if (current.getStatus() == null || !current.getStatus().canTransitionTo(target)) {
+                count("rejected");
+                throw new OrderStatusConflictException("Order " + id + " cannot move from "
+                        + current.getStatus() + " to " + target);
+            }
+
+            if (orderRepository.compareAndSetStatus(id, current.getStatus(), current.getVersion(), target) == 1) {
+                long version = current.getVersion() + 1;
+                count(attempt == 1 ? "applied" : "applied_after_retry");
+                publisher.publishEvent(new OrderStatusChangedEvent(id, current.getUserId(),
+                        current.getStatus(), target, version));
+                return Optional.of(new OrderStatusResponse(id, target.name(), version));
+            }
+
+            // có ghi khác chen vào giữa lúc đọc và UPDATE
+            if (expectedVersion != null || attempt >= maxAttempts) {
+                count("conflict");
+                throw new OrderStatusConflictException("Order " + id + " was modified concurrently, retry");
+            }
+            log.debug("Order {} status CAS lost (attempt {}), retrying", id, attempt);
+            backoff(attempt);
+        }
+    }
+
+    /** Chờ ngẫu nhiên trong [0, backoff * attempt) để các callback đụng nhau không thử lại cùng lúc. */
+    private void backoff(int attempt) {
+        long bound = retryBackoffMs * attempt;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderStatusConflictException("Interrupted while retrying order status update");
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("oms.order.status.transition", "result", result).increment();
+    }
+}
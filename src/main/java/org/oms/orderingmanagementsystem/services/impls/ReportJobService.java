@@ -0,0 +1,409 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.dtos.request.ReportRequest;
+import org.oms.orderingmanagementsystem.dtos.response.ReportJobResponse;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+import org.oms.orderingmanagementsystem.entities.ReportJob;
+import org.oms.orderingmanagementsystem.entities.ReportJobStatus;
+import org.oms.orderingmanagementsystem.entities.ReportType;
+import org.oms.orderingmanagementsystem.entities.User;
+import org.oms.orderingmanagementsystem.mappers.ReportJobMapper;
+import org.oms.orderingmanagementsystem.repositories.ArchivedOrderRepository;
+import org.oms.orderingmanagementsystem.repositories.OrderRepository;
+import org.oms.orderingmanagementsystem.repositories.ReportJobRepository;
+import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.securities.configs.ReportProperties;
+import org.oms.orderingmanagementsystem.securities.exceptions.ReportQueueFullException;
+import org.oms.orderingmanagementsystem.services.interfaces.ReportJobServiceInterface;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Report chạy nền trên reportExecutor (pool cố định, queue có giới hạn):
+ * - REVENUE_BY_CATEGORY / STATUS_BREAKDOWN: đọc đơn của kỳ report theo keyset (created_at, id) trên
+ *   orders và orders_archive cùng lúc. Mỗi chunk là một transaction readOnly REPEATABLE READ ngắn
+ *   (đi replica nếu bật routing) đọc cả hai bảng trên cùng snapshot, nên đơn bị archive giữa chừng
+ *   nằm ở đúng một bảng trong chunk chứa nó, không bị đếm hai lần hay bỏ sót.
+ * - TOP_CUSTOMERS: đọc user theo keyset id, mỗi lô cộng đơn của kỳ từ cả hai bảng (cùng snapshot)
+ *   và chỉ giữ top N khách hàng.
+ * - sau mỗi chunk lưu checkpoint (keyset) + kết quả cộng dồn vào report_jobs; kết quả luôn có giới hạn:
+ *   số category / status, hoặc top N khách hàng
+ * - xong thì ghi CSV vào outputDir, client poll status rồi tải file
+ *
+ * Checkpoint / resume giả định một instance chạy report (giống search index nằm trên đĩa local).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService implements ReportJobServiceInterface {
+
+    private static final String PHASE_ORDERS = "ORDERS";
+    private static final String PHASE_CUSTOMERS = "CUSTOMERS";
+    private static final String UNCATEGORIZED = "(uncategorized)";
+    private static final TypeReference<Map<String, Totals>> STATE_TYPE = new TypeReference<>() {
+    };
+    // thứ tự keyset (created_at, id) của row report
+    private static final Comparator<Object[]> KEYSET = Comparator
+            .comparing((Object[] row) -> (LocalDateTime) row[1])
+            .thenComparing(row -> (Long) row[0]);
+    // thứ tự dòng trong CSV: tiền giảm dần, rồi theo key
+    private static final Comparator<Map.Entry<String, Totals>> BY_AMOUNT =
+            Map.Entry.<String, Totals>comparingByValue(Comparator.comparing(Totals::amount)).reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    private final ReportJobRepository reportJobRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final UserRepository userRepository;
+    private final ReportJobMapper reportJobMapper;
+    private final ReportProperties properties;
+    private final JsonMapper jsonMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Qualifier("reportExecutor")
+    private final ThreadPoolTaskExecutor reportExecutor;
+
+    /**
+     * Số đơn và tổng tiền của một nhóm (category / user / status). Cộng dồn tại chỗ trên long:
+     * mỗi đơn không tạo thêm object nào. JSON (state checkpoint) vẫn là {"orders", "amount"}.
+     */
+    public static final class Totals {
+        private long orders;
+        private long amountMinor;
+
+        @JsonCreator
+        Totals(@JsonProperty("orders") long orders, @JsonProperty("amount") Money amount) {
+            this.orders = orders;
+            this.amountMinor = amount == null ? 0 : amount.minor();
+        }
+
+        void add(long orders, Money amount) {
+            this.orders += orders;
+            if (amount != null) {
+                amountMinor = Math.addExact(amountMinor, amount.minor());
+            }
+        }
+
+        @JsonProperty
+        public long orders() {
+            return orders;
+        }
+
+        @JsonProperty
+        public Money amount() {
+            return Money.ofMinor(amountMinor);
+        }
+    }
+
+    @Override
+    public ReportJobResponse submit(ReportRequest request) {
+        ReportJob job = new ReportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setType(request.getType());
+        job.setPeriodStart(request.getMonth().atDay(1));
+        job.setPeriodEnd(request.getMonth().plusMonths(1).atDay(1));
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        job = reportJobRepository.save(job);
+
+        if (!enqueue(job.getId())) {
+            reportJobRepository.delete(job);
+            throw new ReportQueueFullException("Report queue is full, retry later");
+        }
+        return reportJobMapper.toResponse(job);
+    }
+
+    @Override
+    public Optional<ReportJobResponse> find(String id) {
+        return reportJobRepository.findById(id).map(reportJobMapper::toResponse);
+    }
+
+    @Override
+    public Optional<Path> file(String id) {
+        return reportJobRepository.findById(id)
+                .filter(job -> job.getStatus() == ReportJobStatus.COMPLETED && job.getFilePath() != null)
+                .map(job -> Path.of(job.getFilePath()))
+                .filter(Files::isReadable);
+    }
+
+    @Override
+    public void resumeInterrupted() {
+        for (ReportJob job : reportJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(ReportJobStatus.RUNNING, ReportJobStatus.QUEUED))) {
+            if (!enqueue(job.getId())) {
+                fail(job, "Report queue was full when resuming after restart");
+            } else {
+                log.info("Resuming report job {} ({}) from {} {}", job.getId(), job.getType(),
+                        job.getPhase() == null ? "start" : job.getPhase(), job.getCheckpointId());
+            }
+        }
+    }
+
+    private boolean enqueue(String id) {
+        try {
+            reportExecutor.execute(() -> run(id));
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    private void run(String id) {
+        ReportJob job = reportJobRepository.findById(id).orElse(null);
+        if (job == null || job.getStatus() == ReportJobStatus.COMPLETED || job.getStatus() == ReportJobStatus.FAILED) {
+            return;
+        }
+        LocalDateTime from = job.getPeriodStart().atStartOfDay();
+        LocalDateTime to = job.getPeriodEnd().atStartOfDay();
+        String phase = job.getType() == ReportType.TOP_CUSTOMERS ? PHASE_CUSTOMERS : PHASE_ORDERS;
+        try {
+            job.setStatus(ReportJobStatus.RUNNING);
+            if (job.getStartedAt() == null) job.setStartedAt(LocalDateTime.now());
+            if (job.getPhase() == null) checkpoint(job, phase, from);
+            job = reportJobRepository.save(job);
+
+            Map<String, Totals> totals = job.getState() == null
+                    ? new HashMap<>()
+                    : new HashMap<>(jsonMapper.readValue(job.getState(), STATE_TYPE));
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            // hai bảng trong một chunk phải đọc trên cùng snapshot
+            readOnly.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+            while (true) {
+                ReportJob current = job;
+                Integer processed = readOnly.execute(tx -> PHASE_CUSTOMERS.equals(current.getPhase())
+                        ? customersChunk(current, totals, from, to)
+                        : ordersChunk(current, totals, from, to));
+                if (processed == null || processed == 0) break;
+                // checkpoint và kết quả cộng dồn ghi cùng một UPDATE
+                job.setState(jsonMapper.writeValueAsString(totals));
+                job = reportJobRepository.save(job);
+                Thread.sleep(properties.getPauseBetweenChunksMs());
+            }
+
+            job.setFilePath(write(job, totals).toString());
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setState(null);
+            reportJobRepository.save(job);
+            log.info("Report job {} ({}) completed: {} orders", job.getId(), job.getType(), job.getProcessedOrders());
+        } catch (InterruptedException e) {
+            // app đang tắt: giữ RUNNING, lần khởi động sau chạy tiếp từ checkpoint
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Report job {} ({}) failed", id, job.getType(), e);
+            fail(job, e.getMessage());
+        }
+    }
+
+    private static void checkpoint(ReportJob job, String phase, LocalDateTime from) {
+        job.setPhase(phase);
+        // id luôn > 0 nên (from, 0) đứng trước mọi đơn của kỳ
+        job.setCheckpointCreatedAt(from);
+        job.setCheckpointId(0L);
+    }
+
+    /**
+     * chunkSize đơn kế tiếp sau checkpoint, lấy từ orders và orders_archive rồi trộn theo (created_at, id).
+     *
+     * @return số đơn đã đọc, 0 khi hết kỳ
+     */
+    private int ordersChunk(ReportJob job, Map<String, Totals> totals, LocalDateTime from, LocalDateTime to) {
+        int limit = properties.getChunkSize();
+        List<Object[]> hot = orderRepository.findReportChunk(from, to,
+                job.getCheckpointCreatedAt(), job.getCheckpointId(), Limit.of(limit));
+        List<Object[]> archived = archivedOrderRepository.findReportChunk(from, to,
+                job.getCheckpointCreatedAt(), job.getCheckpointId(), Limit.of(limit));
+        if (hot.isEmpty() && archived.isEmpty()) return 0;
+
+        // chunk kết thúc ở đơn thứ chunkSize của hợp hai bảng; phần sau để chunk kế tiếp
+        List<Object[]> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(KEYSET);
+        Object[] last = merged.get(Math.min(limit, merged.size()) - 1);
+        hot = hot.stream().filter(row -> KEYSET.compare(row, last) <= 0).toList();
+        archived = archived.stream().filter(row -> KEYSET.compare(row, last) <= 0).toList();
+
+        addHot(job.getType(), totals, hot);
+        addArchived(job.getType(), totals, archived, from, to);
+        advance(job, last);
+        job.setProcessedOrders(job.getProcessedOrders() + hot.size() + archived.size());
+        return hot.size() + archived.size();
+    }
+
+    private void addHot(ReportType type, Map<String, Totals> totals, List<Object[]> rows) {
+        List<Object[]> counted = type == ReportType.STATUS_BREAKDOWN ? rows : notCancelled(rows);
+        if (counted.isEmpty()) return;
+        List<Long> ids = counted.stream().map(row -> (Long) row[0]).toList();
+        if (type == ReportType.REVENUE_BY_CATEGORY) {
+            addByCategory(totals, orderRepository.sumSubtotalByCategory(ids));
+        } else {
+            Map<Long, Money> subtotals = orderRepository.sumSubtotalByOrder(ids).stream()
+                    .collect(Collectors.toMap(row -> (Long) row[0], row -> Money.from(row[1])));
+            for (Object[] row : counted) {
+                add(totals, String.valueOf(row[2]), 1, subtotals.get((Long) row[0]));
+            }
+        }
+    }
+
+    private void addArchived(ReportType type, Map<String, Totals> totals, List<Object[]> rows,
+                             LocalDateTime from, LocalDateTime to) {
+        List<Object[]> counted = type == ReportType.STATUS_BREAKDOWN ? rows : notCancelled(rows);
+        if (counted.isEmpty()) return;
+        if (type == ReportType.REVENUE_BY_CATEGORY) {
+            List<Long> ids = counted.stream().map(row -> (Long) row[0]).toList();
+            addByCategory(totals, archivedOrderRepository.sumSubtotalByCategory(ids, from, to));
+        } else {
+            // subtotal đã tính sẵn lúc archive
+            for (Object[] row : counted) {
+                add(totals, String.valueOf(row[2]), 1, Money.from(row[4]));
+            }
+        }
+    }
+
+    /**
+     * Lô chunkSize user kế tiếp sau checkpoint: đơn (không CANCELLED) của kỳ từ cả hai bảng,
+     * rồi chỉ giữ top N. Mỗi user được cộng trọn trong một lô nên top N cuối cùng là chính xác.
+     *
+     * @return số user đã đọc, 0 khi hết user
+     */
+    private int customersChunk(ReportJob job, Map<String, Totals> top, LocalDateTime from, LocalDateTime to) {
+        List<Long> userIds = userRepository.findIdsAfter(job.getCheckpointId(), Limit.of(properties.getChunkSize()));
+        if (userIds.isEmpty()) return 0;
+
+        Map<String, Totals> chunk = new HashMap<>();
+        long orders = 0;
+        for (List<Object[]> rows : List.of(
+                orderRepository.sumByUser(userIds, from, to, OrderStatus.CANCELLED),
+                archivedOrderRepository.sumByUser(userIds, from, to, OrderStatus.CANCELLED))) {
+            for (Object[] row : rows) {
+                long count = ((Number) row[1]).longValue();
+                add(chunk, String.valueOf(row[0]), count, Money.from(row[2]));
+                orders += count;
+            }
+        }
+        top.putAll(chunk);
+        if (top.size() > properties.getTopCustomers()) {
+            List<String> keep = top.entrySet().stream()
+                    .sorted(BY_AMOUNT)
+                    .limit(properties.getTopCustomers())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            top.keySet().retainAll(keep);
+        }
+
+        job.setCheckpointId(userIds.getLast());
+        job.setProcessedOrders(job.getProcessedOrders() + orders);
+        return userIds.size();
+    }
+
+    // row: id, createdAt, status, userId[, subtotal]
+    private static List<Object[]> notCancelled(List<Object[]> rows) {
+        return rows.stream().filter(row -> row[2] != OrderStatus.CANCELLED).toList();
+    }
+
+    private static void advance(ReportJob job, Object[] last) {
+        job.setCheckpointCreatedAt((LocalDateTime) last[1]);
+        job.setCheckpointId((Long) last[0]);
+    }
+
+    private static void addByCategory(Map<String, Totals> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String category = row[0] == null ? UNCATEGORIZED : (String) row[0];
+            add(totals, category, ((Number) row[1]).longValue(), Money.from(row[2]));
+        }
+    }
+
+    private static void add(Map<String, Totals> totals, String key, long orders, Money amount) {
+        totals.computeIfAbsent(key, k -> new Totals(0, Money.ZERO)).add(orders, amount);
+    }
+
+    private Path write(ReportJob job, Map<String, Totals> totals) throws IOException {
+        Path dir = Path.of(properties.getOutputDir());
+        Files.createDirectories(dir);
+        String name = job.getType().name().toLowerCase(Locale.ROOT).replace('_', '-')
+                + "-" + job.getPeriodStart().toString().substring(0, 7) + "-" + job.getId() + ".csv";
+        Path target = dir.resolve(name);
+        Path tmp = dir.resolve(name + ".tmp");
+
+        List<Map.Entry<String, Totals>> entries = new ArrayList<>(totals.entrySet());
+        entries.sort(BY_AMOUNT);
+
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            switch (job.getType()) {
+                case REVENUE_BY_CATEGORY -> {
+                    out.write("category,orders,revenue\n");
+                    for (Map.Entry<String, Totals> e : entries) {
+                        out.write(csv(e.getKey()) + "," + e.getValue().orders() + "," + e.getValue().amount().toBigDecimal().toPlainString() + "\n");
+                    }
+                }
+                case STATUS_BREAKDOWN -> {
+                    out.write("status,orders,amount\n");
+                    for (Map.Entry<String, Totals> e : entries) {
+                        out.write(e.getKey() + "," + e.getValue().orders() + "," + e.getValue().amount().toBigDecimal().toPlainString() + "\n");
+                    }
+                }
+                case TOP_CUSTOMERS -> {
+                    List<Map.Entry<String, Totals>> top = entries.subList(0, Math.min(entries.size(), properties.getTopCustomers()));
+                    Map<Long, User> users = userRepository.findAllById(top.stream().map(e -> Long.valueOf(e.getKey())).toList())
+                            .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+                    out.write("user_id,name,email,orders,revenue\n");
+                    for (Map.Entry<String, Totals> e : top) {
+                        User user = users.get(Long.valueOf(e.getKey()));
+                        out.write(e.getKey() + "," + csv(user == null ? null : user.getName()) + ","
+                                + csv(user == null ? null : user.getEmail()) + ","
+                                + e.getValue().orders() + "," + e.getValue().amount().toBigDecimal().toPlainString() + "\n");
+                    }
+                }
+            }
+        }
+        // client không bao giờ thấy file ghi dở
+        return Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private void fail(ReportJob job, String message) {
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setError(message == null ? null : message.substring(0, Math.min(message.length(), 1000)));
+        job.setFinishedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+}
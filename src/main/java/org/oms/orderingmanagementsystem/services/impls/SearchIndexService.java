@@ -0,0 +1,368 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangedEvent;
+import org.oms.orderingmanagementsystem.entities.Product;
+import org.oms.orderingmanagementsystem.entities.User;
+import org.oms.orderingmanagementsystem.repositories.ProductRepository;
+import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.services.interfaces.SearchIndexServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Inverted index (Lucene, nằm trên local disk) cho keyword search.
+ *
+ * Thay cho LOWER(col) LIKE '%kw%' (full scan + gọi hàm trên từng row):
+ * - mỗi product / user là một document, field "all" chứa các cột cần tìm
+ * - keyword được tách token, mỗi token là một PrefixQuery (MUST)
+ * - kết quả là tập id, service đưa vào Specification dạng id IN (...)
+ *
+ * Index được cập nhật sau mỗi commit qua EntityChangedEvent và được refresh
+ * (near-real-time) theo chu kỳ. Index là local theo từng instance, nên mặc định
+ * build lại lúc khởi động để bắt kịp thay đổi từ instance khác / script SQL.
+ *
+ * Trong lúc rebuild, dòng stream từ DB có thể cũ hơn thay đổi live vừa ghi (snapshot đọc trước commit
+ * đó): thay đổi live vẫn ghi ngay, đồng thời được giữ lại (bản mới nhất theo key) và ghi lại một lần
+ * sau khi stream xong, nên không bị dòng cũ đè mất.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService implements SearchIndexServiceInterface {
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ALL = "all";
+    private static final String TYPE_PRODUCT = "product";
+    private static final String TYPE_USER = "user";
+    private static final int REBUILD_COMMIT_EVERY = 50_000;
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.index.path:./data/search-index}")
+    private String indexPath;
+
+    @Value("${search.index.max-hits:10000}")
+    private int maxHits;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    // thay đổi live nhận được trong lúc rebuild, null khi không rebuild (chỉ đụng tới khi giữ liveLock)
+    private final Object liveLock = new Object();
+    private Map<String, Runnable> replay;
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(Path.of(indexPath));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Search index opened at {} ({} docs)", indexPath, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        ready = false;
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    /* ===================== Query ===================== */
+
+    @Override
+    public Optional<Set<Long>> searchProductIds(String keyword) {
+        return search(TYPE_PRODUCT, keyword);
+    }
+
+    @Override
+    public Optional<Set<Long>> searchUserIds(String keyword) {
+        return search(TYPE_USER, keyword);
+    }
+
+    private Optional<Set<Long>> search(String type, String keyword) {
+        if (!ready || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+        List<String> tokens = tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER);
+        for (String token : tokens) {
+            builder.add(new PrefixQuery(new Term(FIELD_ALL, token)), BooleanClause.Occur.MUST);
+        }
+        Query query = builder.build();
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            // Quá nhiều kết quả thì IN (...) cũng không rẻ hơn scan -> để caller fallback
+            if (searcher.count(query) > maxHits) {
+                return Optional.empty();
+            }
+            TopDocs top = searcher.search(query, maxHits);
+            StoredFields storedFields = searcher.storedFields();
+            Set<Long> ids = new LinkedHashSet<>(top.scoreDocs.length * 2);
+            for (ScoreDoc sd : top.scoreDocs) {
+                ids.add(storedFields.document(sd.doc).getField(FIELD_ID).numericValue().longValue());
+            }
+            return Optional.of(ids);
+        } catch (IOException e) {
+            log.warn("Search index query failed, falling back to LIKE: {}", e.getMessage());
+            return Optional.empty();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream ts = analyzer.tokenStream(FIELD_ALL, text)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            while (ts.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            ts.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) return;
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Cannot release index searcher: {}", e.getMessage());
+        }
+    }
+
+    /* ===================== Write ===================== */
+
+    @Override
+    public void indexProduct(Product product) {
+        upsert(TYPE_PRODUCT, product.getId(),
+                product.getName(), product.getCategory(), product.getDescription());
+    }
+
+    @Override
+    public void indexUser(User user) {
+        upsert(TYPE_USER, user.getId(), user.getName(), user.getEmail(), user.getPhone());
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        delete(TYPE_PRODUCT, id);
+    }
+
+    @Override
+    public void deleteUser(Long id) {
+        delete(TYPE_USER, id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        boolean delete = event.action() == EntityChangedEvent.Action.DELETE;
+        if (event.entity() instanceof Product product) {
+            if (delete) deleteProduct(product.getId()); else indexProduct(product);
+        } else if (event.entity() instanceof User user) {
+            if (delete) deleteUser(user.getId()); else indexUser(user);
+        }
+    }
+
+    private void upsert(String type, Long id, String... values) {
+        if (id == null) return;
+        live(key(type, id), () -> write(type, id, values));
+    }
+
+    private void delete(String type, Long id) {
+        if (id == null) return;
+        live(key(type, id), () -> {
+            try {
+                writer.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void live(String key, Runnable change) {
+        synchronized (liveLock) {
+            change.run();
+            if (replay != null) replay.put(key, change);
+        }
+    }
+
+    private void write(String type, long id, String... values) {
+        try {
+            writer.updateDocument(new Term(FIELD_KEY, key(type, id)), document(type, id, values));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document document(String type, long id, String... values) {
+        StringBuilder all = new StringBuilder();
+        for (String v : values) {
+            if (v != null && !v.isBlank()) all.append(v).append(' ');
+        }
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, key(type, id), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, type, Field.Store.NO));
+        doc.add(new StoredField(FIELD_ID, id));
+        doc.add(new TextField(FIELD_ALL, all.toString(), Field.Store.NO));
+        return doc;
+    }
+
+    private static String key(String type, long id) {
+        return type + ":" + id;
+    }
+
+    /* ===================== Maintenance ===================== */
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        try {
+            // bắt đầu giữ thay đổi live TRƯỚC khi mở snapshot stream: thay đổi commit trước đó đã có trong stream
+            synchronized (liveLock) {
+                replay = new LinkedHashMap<>();
+                writer.deleteAll();
+            }
+            long products = tx.execute(status -> {
+                long[] count = {0};
+                productRepository.streamSearchViews().forEach(p -> {
+                    write(TYPE_PRODUCT, p.getId(), p.getName(), p.getCategory(), p.getDescription());
+                    commitEvery(++count[0]);
+                });
+                return count[0];
+            });
+            long users = tx.execute(status -> {
+                long[] count = {0};
+                userRepository.streamSearchViews().forEach(u -> {
+                    write(TYPE_USER, u.getId(), u.getName(), u.getEmail(), u.getPhone());
+                    commitEvery(++count[0]);
+                });
+                return count[0];
+            });
+            int replayed;
+            synchronized (liveLock) {
+                replayed = replay.size();
+                replay.values().forEach(Runnable::run);
+                replay = null;
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Search index rebuilt: {} products, {} users, {} live changes replayed in {} ms",
+                    products, users, replayed, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            synchronized (liveLock) {
+                replay = null;
+            }
+        }
+    }
+
+    private void commitEvery(long count) {
+        if (count % REBUILD_COMMIT_EVERY != 0) return;
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Đánh dấu index hiện có trên disk là dùng được (khi không rebuild lúc khởi động). */
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int docCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Search index commit failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package org.oms.orderingmanagementsystem.services.impls;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.oms.orderingmanagementsystem.commons.BaseService;
 import org.oms.orderingmanagementsystem.commons.BaseSpecification;
+import org.oms.orderingmanagementsystem.commons.ProjectionQuery;
 import org.oms.orderingmanagementsystem.commons.UserFethchSpecification;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlBudget;
+import org.oms.orderingmanagementsystem.commons.jdbc.SqlStatsContext;
 import org.oms.orderingmanagementsystem.entities.User;
 import org.oms.orderingmanagementsystem.mappers.UserMapper;
 import org.oms.orderingmanagementsystem.securities.filters.ParameterFilter;
@@ -11,25 +16,42 @@ import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.oms.orderingmanagementsystem.dtos.response.UserResponse;
-import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.services.interfaces.FilterGovernanceServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.SearchIndexServiceInterface;
 import org.oms.orderingmanagementsystem.services.interfaces.UserServiceInterface;
+import org.oms.orderingmanagementsystem.services.interfaces.UserTrigramIndexServiceInterface;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserService extends BaseService implements UserServiceInterface {
 
-    private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final SearchIndexServiceInterface searchIndexService;
+    private final UserTrigramIndexServiceInterface userTrigramIndexService;
+    private final FilterGovernanceServiceInterface filterGovernanceService;
     private static final String[] KEYWORD_FIELDS = {
             "name"
     };
+    private static final String[] CONTACT_FIELDS = {
+            "phone", "email"
+    };
     private static final int MAX_PAGE_SIZE = 100;
+    private static final ProjectionQuery.Projection<User> LIST = (root, query, cb) -> List.of(
+            root.get("id").alias("id"),
+            root.get("name").alias("name"),
+            root.get("email").alias("email"),
+            root.get("phone").alias("phone"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
 
-    @Transactional
+    @SqlBudget(statements = 2)
+    @Transactional(readOnly = true)
     @Override
     public Page<UserResponse> pagination(Map<String, String[]> params) {
         int page = params.containsKey("page") ? Integer.parseInt(params.get("page")[0]) - 1 : 0;
@@ -45,7 +67,10 @@ public class UserService extends BaseService implements UserServiceInterface {
             page = 0;
         }
 
+        // chặn filter / sort vào field không tồn tại, bị cấm hoặc không có index
+        filterGovernanceService.check(User.class, params);
         Sort sort = sortParam(params);
+        SqlStatsContext.filterShape(filterShape(params));
 
         String keyword = ParameterFilter.filtertKeyword(params);
         Map<String, String> filterSimple = ParameterFilter.filterSimple(params);
@@ -54,12 +79,10 @@ public class UserService extends BaseService implements UserServiceInterface {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<User> specification = Specification
-                .where(BaseSpecification.keyword(keyword, KEYWORD_FIELDS));
+        Specification<User> specification = Specification.where(keywordSpec(keyword));
 
         if (!filterSimple.isEmpty()) {
             specification = specification.and(BaseSpecification.whereSpec(filterSimple));
-//
         }
 
         if (!filterComplex.isEmpty()) {
@@ -67,8 +90,30 @@ public class UserService extends BaseService implements UserServiceInterface {
         }
 
 
-        Page<User> users = userRepository.findAll(specification, pageable);
+        // chỉ select id, name, email, phone: không đọc password / address, không load entity
+        return ProjectionQuery.page(entityManager, User.class, specification, pageable,
+                LIST, userMapper::toResponse);
+    }
+
+    /**
+     * name: id IN (ids từ search index), index chưa sẵn sàng thì fallback LIKE.
+     * phone / email: tìm theo đoạn bất kỳ qua trigram index, ứng viên được verify
+     * bằng LIKE nhưng chỉ trên các id đó; không dùng được trigram thì về prefix LIKE.
+     */
+    private Specification<User> keywordSpec(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return BaseSpecification.keyword(keyword, KEYWORD_FIELDS);
+        }
+
+        Specification<User> byName = searchIndexService.searchUserIds(keyword)
+                .map(ids -> BaseSpecification.<User>idIn("id", ids))
+                .orElseGet(() -> BaseSpecification.keyword(keyword, KEYWORD_FIELDS));
+
+        Specification<User> byContact = userTrigramIndexService.candidateUserIds(keyword)
+                .map(ids -> BaseSpecification.<User>idIn("id", ids)
+                        .and(BaseSpecification.contains(keyword, CONTACT_FIELDS)))
+                .orElseGet(() -> BaseSpecification.keyword(keyword, CONTACT_FIELDS));
 
-        return userMapper.toResponsePage(users);
+        return byName.or(byContact);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangedEvent;
+import org.oms.orderingmanagementsystem.commons.search.TrigramIndex;
+import org.oms.orderingmanagementsystem.entities.User;
+import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.services.interfaces.UserTrigramIndexServiceInterface;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Trigram index trên User.phone và User.email để tìm theo đoạn giữa
+ * (vd. 4 số cuối điện thoại, một phần email) mà không full scan bảng users.
+ *
+ * Index chỉ nằm trong RAM: build lại lúc khởi động bằng cách stream bảng users,
+ * sau đó cập nhật theo EntityChangedEvent (update thay giá trị cũ, delete gỡ user khỏi index).
+ * Kết quả vẫn là ứng viên và được verify ở DB.
+ *
+ * Trong lúc build, dòng stream có thể cũ hơn thay đổi live (snapshot đọc trước commit đó): thay đổi
+ * live được giữ lại (bản mới nhất theo user) và ghi đè lên index mới trước khi index mới được dùng.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTrigramIndexService implements UserTrigramIndexServiceInterface {
+
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${search.trigram.max-candidates:5000}")
+    private int maxCandidates;
+
+    private volatile TrigramIndex active;
+    // thay đổi live trong lúc build, null khi không build (chỉ đụng tới khi giữ liveLock)
+    private final Object liveLock = new Object();
+    private Map<Long, Consumer<TrigramIndex>> replay;
+
+    @Override
+    public Optional<Set<Long>> candidateUserIds(String keyword) {
+        TrigramIndex index = active;
+        if (index == null || keyword == null) return Optional.empty();
+
+        RoaringBitmap candidates = index.candidates(keyword.trim());
+        if (candidates == null || candidates.getCardinality() > maxCandidates) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new HashSet<>(candidates.getCardinality() * 2);
+        candidates.forEach((int id) -> ids.add(Integer.toUnsignedLong(id)));
+        return Optional.of(ids);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!(event.entity() instanceof User user) || user.getId() == null) {
+            return;
+        }
+        Long id = user.getId();
+        Consumer<TrigramIndex> change = event.action() == EntityChangedEvent.Action.DELETE
+                ? index -> remove(index, id)
+                : index -> put(index, id, user.getPhone(), user.getEmail());
+        synchronized (liveLock) {
+            change.accept(active);
+            if (replay != null) replay.put(id, change);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TrigramIndex index = new TrigramIndex();
+        synchronized (liveLock) {
+            replay = new LinkedHashMap<>();
+        }
+        try {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            long users = tx.execute(status -> {
+                long[] count = {0};
+                userRepository.streamSearchViews().forEach(u -> {
+                    put(index, u.getId(), u.getPhone(), u.getEmail());
+                    count[0]++;
+                });
+                return count[0];
+            });
+            synchronized (liveLock) {
+                replay.values().forEach(change -> change.accept(index));
+                index.optimize();
+                active = index;
+            }
+            log.info("User trigram index rebuilt: {} users, {} trigrams, {} KB in {} ms",
+                    users, index.trigramCount(), index.sizeInBytes() / 1024,
+                    System.currentTimeMillis() - start);
+        } finally {
+            synchronized (liveLock) {
+                replay = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return active != null;
+    }
+
+    private static void put(TrigramIndex index, Long id, String phone, String email) {
+        if (index == null || !inRange(id)) return;
+        index.put((int) id.longValue(), phone, email);
+    }
+
+    private static void remove(TrigramIndex index, Long id) {
+        if (index == null || !inRange(id)) return;
+        index.remove((int) id.longValue());
+    }
+
+    private static boolean inRange(Long id) {
+        if (id == null) return false;
+        if (id > Integer.toUnsignedLong(-1)) {
+            log.warn("User id {} exceeds trigram index range, skipped", id);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+public interface CartExpiryServiceInterface {
+
+    /**
+     * Ghi nhận hoạt động trên cart không đi qua cart_item (item đã có trigger V5, cart mới tự vào wheel
+     * qua EntityChangedEvent): cập nhật carts.last_activity theo giờ DB và dời hạn của cart trong wheel.
+     */
+    void touch(Long cartId);
+
+    /** Nạp hạn của mọi cart từ carts.last_activity (keyset theo idx_cart_last_activity). */
+    void rebuild();
+
+    /**
+     * Quay wheel tới hiện tại và xoá các cart đã tới hạn theo chunk (mỗi chunk một transaction).
+     *
+     * @return số cart đã xoá
+     */
+    int expireDue();
+
+    /** Số cart đang được theo dõi trong wheel. */
+    int tracked();
+}
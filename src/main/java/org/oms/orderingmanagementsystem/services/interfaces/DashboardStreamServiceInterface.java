@@ -0,0 +1,7 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamServiceInterface {
+    SseEmitter subscribe();
+}
@@ -0,0 +1,21 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import java.util.Map;
+
+public interface FilterGovernanceServiceInterface {
+
+    /**
+     * Kiểm tra filter / sort của request trước khi dựng Specification.
+     * Path không tồn tại hoặc bị cấm -> InvalidFilterException.
+     * Tổ hợp không có index -> cho qua, giới hạn tốc độ hoặc từ chối (UnindexedFilterException)
+     * tuỳ app.filter-governance.unindexed. Mọi tổ hợp đều được ghi nhận cho IndexAdvisor.
+     */
+    void check(Class<?> entity, Map<String, String[]> params);
+
+    /**
+     * Như check, tách hai bước cho list được coalesce: path sai / bị cấm ném ngay cho mọi caller,
+     * còn xử lý tổ hợp không có index (REJECT / trừ hạn mức RATE_LIMIT) nằm trong Runnable trả về,
+     * chỉ leader chạy, các caller dùng chung kết quả không bị tính thêm.
+     */
+    Runnable admit(Class<?> entity, Map<String, String[]> params);
+}
@@ -0,0 +1,34 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.commons.money.Money;
+
+import java.time.LocalDateTime;
+
+public interface OrderArchiveServiceInterface {
+
+    /**
+     * Mốc archive hiện tại: đơn đã đóng tạo trước mốc này có thể nằm trong archive,
+     * mọi đơn trong archive đều tạo trước mốc này.
+     */
+    LocalDateTime cutoff();
+
+    /** Tạo / bổ sung partition theo tháng cho bảng archive (không làm gì nếu không phải MySQL). */
+    void maintainPartitions();
+
+    /**
+     * Chuyển tối đa batchSize đơn đã đóng (kèm item) tạo trước cutoff sang archive
+     * trong MỘT transaction.
+     *
+     * @return số đơn đã chuyển
+     */
+    int archiveBatch(LocalDateTime cutoff);
+
+    /** Số đơn trong archive (đếm lại sau mỗi lần archive, không query mỗi lần gọi). */
+    long archivedCount();
+
+    /** Tổng subtotal các đơn không CANCELLED trong archive, đếm lại cùng lúc với archivedCount. */
+    Money archivedRevenue();
+
+    /** Đếm lại số đơn và doanh thu của archive. */
+    void refreshArchivedCount();
+}
@@ -0,0 +1,14 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.dtos.response.OrderChangesResponse;
+
+public interface OrderChangesServiceInterface {
+
+    /**
+     * Đơn được tạo / sửa (kể cả item của đơn) sau token, theo thứ tự (updated_at, id) tăng dần.
+     *
+     * @param since nextToken của lần gọi trước, null = đồng bộ từ đầu
+     * @param size  null = page size mặc định
+     */
+    OrderChangesResponse changes(String since, Integer size);
+}
@@ -0,0 +1,15 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.dtos.response.OrderFeedResponse;
+
+public interface OrderFeedServiceInterface {
+
+    /**
+     * Lịch sử đơn của một user, mới nhất trước, phân trang bằng cursor (keyset) thay vì offset.
+     *
+     * @param status null = mọi trạng thái
+     * @param cursor nextCursor của trang trước, null = trang đầu
+     * @param size   null = page size mặc định
+     */
+    OrderFeedResponse feed(Long userId, String status, String cursor, Integer size);
+}
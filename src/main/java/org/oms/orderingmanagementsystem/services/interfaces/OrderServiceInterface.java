@@ -1,5 +1,6 @@
 package org.oms.orderingmanagementsystem.services.interfaces;
 
+import org.oms.orderingmanagementsystem.dtos.response.OrderDetailResponse;
 import org.oms.orderingmanagementsystem.dtos.response.OrderResponse;
 import org.oms.orderingmanagementsystem.entities.Order;
 import org.springframework.data.domain.Page;
@@ -7,7 +8,20 @@ import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface OrderServiceInterface {
     Page<OrderResponse> pagination(Map<String, String[]> params);
+
+    /**
+     * ETag hiện tại của order detail (theo version), dùng để trả 304 trước khi load aggregate.
+     * Đơn đã đóng nằm trong cache thì không query DB.
+     */
+    Optional<String> detailETag(Long id);
+
+    /** Order + items + tên product, kèm ETag khớp với đúng dữ liệu trả về. */
+    Optional<OrderDetail> detail(Long id);
+
+    record OrderDetail(String eTag, OrderDetailResponse body) {
+    }
 }
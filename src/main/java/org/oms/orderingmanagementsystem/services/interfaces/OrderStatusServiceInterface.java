@@ -0,0 +1,17 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.dtos.response.OrderStatusResponse;
+import org.oms.orderingmanagementsystem.entities.OrderStatus;
+
+import java.util.Optional;
+
+public interface OrderStatusServiceInterface {
+
+    /**
+     * Chuyển đơn sang trạng thái target. Đơn đã ở target thì không làm gì (callback thanh toán gửi lặp).
+     *
+     * @param expectedVersion null = không ràng buộc version, tự thử lại khi đụng ghi đồng thời
+     * @return empty khi không có đơn (hoặc đơn đã archive)
+     */
+    Optional<OrderStatusResponse> transition(Long id, OrderStatus target, Long expectedVersion);
+}
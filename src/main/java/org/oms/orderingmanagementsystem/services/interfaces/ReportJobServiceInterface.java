@@ -0,0 +1,25 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.dtos.request.ReportRequest;
+import org.oms.orderingmanagementsystem.dtos.response.ReportJobResponse;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface ReportJobServiceInterface {
+
+    /**
+     * Tạo job và đưa vào queue của report worker, trả về ngay (status QUEUED).
+     *
+     * @throws org.oms.orderingmanagementsystem.securities.exceptions.ReportQueueFullException queue đầy
+     */
+    ReportJobResponse submit(ReportRequest request);
+
+    Optional<ReportJobResponse> find(String id);
+
+    /** File kết quả, chỉ có khi job đã COMPLETED. */
+    Optional<Path> file(String id);
+
+    /** Đưa lại vào queue các job QUEUED / RUNNING bị gián đoạn bởi lần tắt app trước. */
+    void resumeInterrupted();
+}
@@ -0,0 +1,33 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import org.oms.orderingmanagementsystem.entities.Product;
+import org.oms.orderingmanagementsystem.entities.User;
+
+import java.util.Optional;
+import java.util.Set;
+
+public interface SearchIndexServiceInterface {
+
+    /**
+     * Trả về tập id product khớp keyword (name / category / description).
+     * Optional.empty() khi index chưa sẵn sàng hoặc số kết quả vượt max-hits,
+     * khi đó caller fallback về LIKE.
+     */
+    Optional<Set<Long>> searchProductIds(String keyword);
+
+    /** Như trên cho user (name / email / phone). */
+    Optional<Set<Long>> searchUserIds(String keyword);
+
+    void indexProduct(Product product);
+
+    void indexUser(User user);
+
+    void deleteProduct(Long id);
+
+    void deleteUser(Long id);
+
+    /** Xoá toàn bộ và build lại index từ DB. */
+    void rebuild();
+
+    boolean isReady();
+}
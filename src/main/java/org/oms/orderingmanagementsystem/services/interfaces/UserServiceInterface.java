@@ -8,6 +8,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Map;
 
 public interface UserServiceInterface {
-    @Transactional
+    @Transactional(readOnly = true)
     Page<UserResponse> pagination(Map<String, String[]> params);
 }
@@ -0,0 +1,20 @@
+package org.oms.orderingmanagementsystem.services.interfaces;
+
+import java.util.Optional;
+import java.util.Set;
+
+public interface UserTrigramIndexServiceInterface {
+
+    /**
+     * Ứng viên user id có phone hoặc email chứa keyword (substring bất kỳ).
+     * Kết quả có thể dư, caller phải verify lại bằng LIKE trên các id này.
+     * Optional.empty() khi index chưa sẵn sàng, keyword ngắn hơn 3 ký tự
+     * hoặc số ứng viên vượt max-candidates.
+     */
+    Optional<Set<Long>> candidateUserIds(String keyword);
+
+    /** Build lại index bằng cách stream bảng users. */
+    void rebuild();
+
+    boolean isReady();
+}
@@ -0,0 +1,57 @@
+-- Schema thêm vào sau baseline V1 (lúc app còn dùng ddl-auto=update nên chưa có migration riêng):
+-- - orders.version: optimistic lock / ETag của order detail
+-- - orders_archive, order_item_archive: tầng archive của đơn đã đóng (partition do OrderArchiveService thêm lúc chạy)
+-- - report_jobs: report chạy nền có checkpoint
+-- Chạy trước V2 (index online), vì V2 tạo index trên các bảng này.
+SET SESSION lock_wait_timeout = ${lockWaitTimeoutSeconds};
+
+-- default 0: dòng có sẵn nhận version 0; MySQL 8 thêm cột kiểu này tại chỗ, không copy bảng
+ALTER TABLE orders
+    ADD COLUMN version bigint default 0 not null,
+    LOCK = NONE;
+
+create table orders_archive (
+    subtotal decimal(38,2),
+    archived_at datetime(6),
+    created_at datetime(6) not null,
+    id bigint not null,
+    user_id bigint not null,
+    version bigint default 0 not null,
+    status enum ('CANCELLED','COMPLETED','PAID','PENDING','SHIPPED'),
+    primary key (created_at, id)
+) engine=InnoDB;
+
+create table order_item_archive (
+    price_at_order decimal(38,2),
+    quantity integer not null,
+    subtotal decimal(38,2),
+    id bigint not null,
+    order_created_at datetime(6) not null,
+    order_id bigint not null,
+    product_id bigint not null,
+    primary key (id, order_created_at)
+) engine=InnoDB;
+
+create table report_jobs (
+    period_end date not null,
+    period_start date not null,
+    checkpoint_created_at datetime(6),
+    checkpoint_id bigint,
+    created_at datetime(6),
+    finished_at datetime(6),
+    processed_orders bigint not null,
+    started_at datetime(6),
+    id varchar(36) not null,
+    error varchar(1000),
+    file_path varchar(255),
+    phase varchar(255),
+    state longtext,
+    status enum ('COMPLETED','FAILED','QUEUED','RUNNING') not null,
+    type enum ('REVENUE_BY_CATEGORY','STATUS_BREAKDOWN','TOP_CUSTOMERS') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_order_archive_user on orders_archive (user_id, created_at);
+create index idx_order_archive_created on orders_archive (created_at, id);
+create index idx_order_item_archive_order on order_item_archive (order_id);
+create index idx_report_job_status on report_jobs (status);
@@ -0,0 +1,163 @@
+-- Baseline: schema của app lúc còn dùng ddl-auto=update, trước khi có Flyway (bản Hibernate sinh cho MySQL 8).
+-- DB cũ đã được ddl-auto=update dựng sẵn thì không chạy file này:
+-- spring.flyway.baseline-on-migrate đánh dấu version 1 là đã áp dụng, chỉ chạy từ V1.1.
+-- Mọi thay đổi schema sau đó (bảng / cột / index mới) nằm ở các version tiếp theo, không sửa file này.
+
+create table blacklisted_tokens (
+    created_at datetime(6),
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint,
+    token LONGTEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cart_item (
+    quantity integer,
+    cart_id bigint not null,
+    product_id bigint not null,
+    primary key (cart_id, product_id)
+) engine=InnoDB;
+
+create table carts (
+    id bigint not null auto_increment,
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table notification (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    body varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_item (
+    price_at_order decimal(38,2),
+    quantity integer not null,
+    subtotal decimal(38,2),
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    product_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    status enum ('CANCELLED','COMPLETED','PAID','PENDING','SHIPPED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    price decimal(38,2),
+    quantities integer,
+    id bigint not null auto_increment,
+    category varchar(255),
+    description varchar(255),
+    img_url varchar(255),
+    name varchar(255),
+    size varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table refresh_tokens (
+    created_at datetime(6),
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint,
+    refresh_token TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_notification (
+    is_read bit,
+    id bigint not null auto_increment,
+    notification_id bigint,
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_role (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    address varchar(255),
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+-- ===== indexes =====
+
+create index idx_cart_item_cart on cart_item (cart_id);
+create index idx_cart_item_product on cart_item (product_id);
+alter table carts add constraint idx_cart_user unique (user_id);
+create index idx_order_item_order on order_item (order_id);
+create index idx_order_item_product on order_item (product_id);
+create index idx_order_item_order_product on order_item (order_id, product_id);
+create index idx_order_user on orders (user_id);
+create index idx_order_user_status on orders (user_id, status);
+create index idx_order_created_at on orders (created_at);
+create index idx_order_created_pagination on orders (created_at desc, id);
+create index idx_product_category on products (category);
+create index idx_product_name on products (name);
+-- TEXT không unique được nguyên cột trên MySQL; token <= 500 ký tự nên prefix 512 vẫn là toàn bộ giá trị
+create unique index UK1yihy5j142kjit22kgccjixro on refresh_tokens (refresh_token(512));
+create index idx_user_notification_user on user_notification (user_id);
+create index idx_user_notification_user_read on user_notification (user_id, is_read);
+create index idx_user_name on users (name);
+create index idx_user_phone on users (phone);
+create index idx_user_address on users (address);
+alter table users add constraint idx_user_email unique (email);
+
+-- ===== foreign keys =====
+
+alter table cart_item
+    add constraint FKlqwuo55w1gm4779xcu3t4wnrd foreign key (cart_id) references carts (id);
+
+alter table cart_item
+    add constraint FKqkqmvkmbtiaqn2nfqf25ymfs2 foreign key (product_id) references products (id);
+
+alter table carts
+    add constraint FKb5o626f86h46m4s7ms6ginnop foreign key (user_id) references users (id);
+
+alter table order_item
+    add constraint FKt4dc2r9nbvbujrljv3e23iibt foreign key (order_id) references orders (id);
+
+alter table order_item
+    add constraint FKc5uhmwioq5kscilyuchp4w49o foreign key (product_id) references products (id);
+
+alter table orders
+    add constraint FK32ql8ubntj5uh44ph9659tiih foreign key (user_id) references users (id);
+
+alter table refresh_tokens
+    add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id);
+
+alter table user_notification
+    add constraint FKi5naecliicmigrk01qx5me5sp foreign key (notification_id) references notification (id);
+
+alter table user_notification
+    add constraint FKc2d7aih8weit50jlu4q57cvs foreign key (user_id) references users (id);
+
+alter table user_role
+    add constraint FKt7e7djp752sqn6w22i6ocqy6q foreign key (role_id) references roles (id);
+
+alter table user_role
+    add constraint FKj345gk1bovqvfame88rcx7yyx foreign key (user_id) references users (id);
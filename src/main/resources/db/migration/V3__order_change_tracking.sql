@@ -0,0 +1,21 @@
+-- Delta sync (GET /api/order/changes): orders.updated_at do DB ghi, keyset trên (updated_at, id).
+-- LOCK=NONE: MySQL phải chạy online (ghi đọc vẫn chạy), không làm được thì fail thay vì khoá bảng.
+-- Dòng có sẵn nhận thời điểm migrate: lần sync đầu của client trả về toàn bộ, như mong muốn.
+SET SESSION lock_wait_timeout = ${lockWaitTimeoutSeconds};
+
+ALTER TABLE orders
+    ADD COLUMN updated_at datetime(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    ADD INDEX idx_order_updated (updated_at, id),
+    LOCK = NONE;
+
+-- Item thêm / sửa thì đơn cha cũng tính là thay đổi. Không có trigger DELETE: item chỉ bị xoá
+-- khi archive chuyển cả đơn sang orders_archive.
+CREATE TRIGGER trg_order_item_touch_order_insert
+    AFTER INSERT ON order_item
+    FOR EACH ROW
+    UPDATE orders SET updated_at = CURRENT_TIMESTAMP(6) WHERE id = NEW.order_id;
+
+CREATE TRIGGER trg_order_item_touch_order_update
+    AFTER UPDATE ON order_item
+    FOR EACH ROW
+    UPDATE orders SET updated_at = CURRENT_TIMESTAMP(6) WHERE id IN (OLD.order_id, NEW.order_id);
@@ -0,0 +1,8 @@
+-- Hết hạn cart bỏ dở (CartExpiryService): carts.last_activity, keyset (last_activity, id) để nạp lại
+-- timing wheel lúc khởi động. Cart có sẵn nhận thời điểm migrate: hết hạn sau ttl tính từ lúc deploy.
+SET SESSION lock_wait_timeout = ${lockWaitTimeoutSeconds};
+
+ALTER TABLE carts
+    ADD COLUMN last_activity datetime(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD INDEX idx_cart_last_activity (last_activity, id),
+    LOCK = NONE;
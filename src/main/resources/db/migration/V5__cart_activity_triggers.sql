@@ -0,0 +1,17 @@
+-- Mọi thay đổi item của cart tính là hoạt động của cart (như V3 làm cho orders): CartExpiryService
+-- đọc lại last_activity trước khi xoá, nên cart đang được dùng không bao giờ bị xoá dù wheel chưa biết.
+-- Giờ do DB ghi, cùng đồng hồ với default của cột.
+CREATE TRIGGER trg_cart_item_touch_cart_insert
+    AFTER INSERT ON cart_item
+    FOR EACH ROW
+    UPDATE carts SET last_activity = CURRENT_TIMESTAMP(6) WHERE id = NEW.cart_id;
+
+CREATE TRIGGER trg_cart_item_touch_cart_update
+    AFTER UPDATE ON cart_item
+    FOR EACH ROW
+    UPDATE carts SET last_activity = CURRENT_TIMESTAMP(6) WHERE id IN (OLD.cart_id, NEW.cart_id);
+
+CREATE TRIGGER trg_cart_item_touch_cart_delete
+    AFTER DELETE ON cart_item
+    FOR EACH ROW
+    UPDATE carts SET last_activity = CURRENT_TIMESTAMP(6) WHERE id = OLD.cart_id;
@@ -0,0 +1,8 @@
+-- Khoá chính orders_archive là (created_at, id): tra theo id (order detail / ETag của đơn đã archive)
+-- không dùng được PK và phải quét từng partition. Index thường trên id: mỗi partition chỉ còn một
+-- lần dò index (MySQL không cho unique key thiếu cột partition, nên không thể là unique).
+SET SESSION lock_wait_timeout = ${lockWaitTimeoutSeconds};
+
+ALTER TABLE orders_archive
+    ADD INDEX idx_order_archive_id (id),
+    LOCK = NONE;
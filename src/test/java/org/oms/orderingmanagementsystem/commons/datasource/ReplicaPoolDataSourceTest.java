@@ -0,0 +1,109 @@
+package org.oms.orderingmanagementsystem.commons.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaPoolDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Connection primaryConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+
+    @Test
+    void roundRobinOverHealthyReplicas() throws SQLException {
+        Replica a = replica("replica-0", true);
+        Replica b = replica("replica-1", true);
+        ReplicaPoolDataSource dataSource = dataSource(a, b);
+
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) connections.add(dataSource.getConnection());
+
+        assertThat(connections).containsExactly(a.connection, b.connection, a.connection, b.connection);
+        assertThat(reads("replica-0")).isEqualTo(2);
+        assertThat(reads("replica-1")).isEqualTo(2);
+    }
+
+    @Test
+    void skipsUnhealthyReplica() throws SQLException {
+        Replica a = replica("replica-0", false);
+        Replica b = replica("replica-1", true);
+        ReplicaPoolDataSource dataSource = dataSource(a, b);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(dataSource.getConnection()).isSameAs(b.connection);
+        }
+        assertThat(reads("replica-0")).isZero();
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        ReplicaPoolDataSource dataSource = dataSource(replica("replica-0", false), replica("replica-1", false));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary-fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToPrimaryWithoutReplicas() throws SQLException {
+        assertThat(dataSource().getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void replicaFailingBetweenHealthChecksIsMarkedDownAndSkipped() throws SQLException {
+        Replica a = replica("replica-0", true);
+        Replica b = replica("replica-1", true);
+        when(a.pool.getDataSource().getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaPoolDataSource dataSource = dataSource(a, b);
+
+        assertThat(dataSource.getConnection()).isSameAs(b.connection);
+        assertThat(a.pool.isHealthy()).isFalse();
+        assertThat(dataSource.getConnection()).isSameAs(b.connection);
+    }
+
+    @Test
+    void unsupportedCredentialsDoNotMarkReplicaDown() throws SQLException {
+        Replica a = replica("replica-0", true);
+        when(a.pool.getDataSource().getConnection("report", "secret"))
+                .thenThrow(new SQLFeatureNotSupportedException("HikariDataSource.getConnection(username, password)"));
+        ReplicaPoolDataSource dataSource = dataSource(a);
+
+        assertThatThrownBy(() -> dataSource.getConnection("report", "secret"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+        assertThat(a.pool.isHealthy()).isTrue();
+    }
+
+    private record Replica(ReplicaPool pool, Connection connection) {
+    }
+
+    private Replica replica(String name, boolean healthy) throws SQLException {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        ReplicaPool replica = new ReplicaPool(name, pool);
+        replica.setHealthy(healthy);
+        return new Replica(replica, connection);
+    }
+
+    private ReplicaPoolDataSource dataSource(Replica... replicas) throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        return new ReplicaPoolDataSource(Arrays.stream(replicas).map(Replica::pool).toList(), primary, registry);
+    }
+
+    private double reads(String pool) {
+        return registry.counter("oms.datasource.reads", "pool", pool).count();
+    }
+}
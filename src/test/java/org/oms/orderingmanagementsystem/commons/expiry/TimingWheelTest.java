@@ -0,0 +1,173 @@
+package org.oms.orderingmanagementsystem.commons.expiry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final int ALL = Integer.MAX_VALUE;
+
+    /** Tick 1 ms: deadline tính bằng tick, dễ đặt đúng ranh giới tầng (64, 64^2, 64^3, 64^4). */
+    @ParameterizedTest
+    @ValueSource(longs = {1, 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 16777215, 16777216, 16777216L * 3 + 7})
+    void firesExactlyAtLevelBoundaries(long delta) {
+        for (long start : new long[]{0, 1, 37, 63, 4095, 262143}) {
+            TimingWheel<String> wheel = new TimingWheel<>(1, start);
+            wheel.schedule("k", start + delta);
+
+            assertThat(wheel.advance(start + delta - 1, ALL)).as("start=%d delta=%d", start, delta).isEmpty();
+            assertThat(wheel.advance(start + delta, ALL)).as("start=%d delta=%d", start, delta).containsExactly("k");
+            assertThat(wheel.size()).isZero();
+        }
+    }
+
+    @Test
+    void firesWhenAdvancedTickByTickAcrossCascades() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        long[] deadlines = {63, 64, 128, 4095, 4096, 4160, 8191, 8192, 262144};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1; now <= 262144; now++) {
+            for (Long key : wheel.advance(now, ALL)) {
+                assertThat(key).isEqualTo(now);
+                fired.add(key);
+            }
+        }
+        assertThat(fired).containsExactly(63L, 64L, 128L, 4095L, 4096L, 4160L, 8191L, 8192L, 262144L);
+    }
+
+    @Test
+    void deadlineIsRoundedUpToTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("k", 1500);
+
+        assertThat(wheel.advance(1999, ALL)).isEmpty();
+        assertThat(wheel.advance(2000, ALL)).containsExactly("k");
+    }
+
+    @Test
+    void pastDeadlineIsDueOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 100);
+        wheel.schedule("k", 50);
+
+        assertThat(wheel.advance(100, ALL)).containsExactly("k");
+    }
+
+    @Test
+    void rescheduleMovesKeyAndKeepsOneEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("k", 10);
+        wheel.schedule("k", 5000);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(4999, ALL)).isEmpty();
+        assertThat(wheel.advance(5000, ALL)).containsExactly("k");
+    }
+
+    @Test
+    void rescheduleWhilePendingTakesKeyOutOfTheDueBatch() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("a", 10);
+        wheel.schedule("b", 10);
+        // limit 0: cả hai đã tới hạn, nằm trong pending nhưng chưa trả ra
+        assertThat(wheel.advance(10, 0)).isEmpty();
+
+        wheel.schedule("a", 100);
+
+        assertThat(wheel.advance(10, ALL)).containsExactly("b");
+        assertThat(wheel.advance(99, ALL)).isEmpty();
+        assertThat(wheel.advance(100, ALL)).containsExactly("a");
+    }
+
+    @Test
+    void cancelWhilePendingDropsKey() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("a", 10);
+        wheel.schedule("b", 10);
+        assertThat(wheel.advance(10, 0)).isEmpty();
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+
+        assertThat(wheel.advance(11, ALL)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void scheduleIfLaterNeverMovesDeadlineEarlier() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("k", 100);
+        wheel.scheduleIfLater("k", 50);
+
+        assertThat(wheel.advance(99, ALL)).isEmpty();
+
+        wheel.scheduleIfLater("k", 200);
+        assertThat(wheel.advance(199, ALL)).isEmpty();
+        assertThat(wheel.advance(200, ALL)).containsExactly("k");
+    }
+
+    @Test
+    void limitSplitsDueKeysIntoBatches() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+        for (int key = 0; key < 5; key++) {
+            wheel.schedule(key, 10);
+        }
+        wheel.schedule(99, 20);
+
+        Set<Integer> fired = new HashSet<>();
+        List<Integer> first = wheel.advance(10, 2);
+        List<Integer> second = wheel.advance(10, 2);
+        List<Integer> third = wheel.advance(10, 2);
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        assertThat(third).hasSize(1);
+        fired.addAll(first);
+        fired.addAll(second);
+        fired.addAll(third);
+        assertThat(fired).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+
+        assertThat(wheel.advance(10, 2)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(20, 2)).containsExactly(99);
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomOperations() {
+        Random random = new Random(42);
+        long now = 123_457;
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, now);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(10);
+            int key = random.nextInt(500);
+            if (op < 4) {
+                long deadline = now + (random.nextInt(4) == 0 ? random.nextInt(30_000_000) : random.nextInt(5000));
+                wheel.schedule(key, deadline);
+                expected.put(key, deadline);
+            } else if (op == 4) {
+                assertThat(wheel.cancel(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                now += random.nextInt(3) == 0 ? random.nextInt(100_000) : random.nextInt(20);
+                for (Integer due : wheel.advance(now, ALL)) {
+                    assertThat(expected.remove(due)).isNotNull().isLessThanOrEqualTo(now);
+                }
+                long current = now;
+                assertThat(expected.values()).allMatch(deadline -> deadline > current);
+            }
+            assertThat(wheel.size()).isEqualTo(expected.size());
+        }
+    }
+}
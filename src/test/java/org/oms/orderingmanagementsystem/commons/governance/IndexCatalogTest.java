@@ -0,0 +1,42 @@
+package org.oms.orderingmanagementsystem.commons.governance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexCatalogTest {
+
+    private static final List<String> STATUS_CREATED = List.of("status", "created_at", "id");
+    private static final List<String> USER_STATUS_CREATED = List.of("user_id", "status", "created_at", "id");
+
+    @Test
+    void equalityColumnsThenSortColumns() {
+        assertThat(IndexCatalog.equalitySort(STATUS_CREATED, Set.of("status"), List.of("created_at"))).isTrue();
+        assertThat(IndexCatalog.equalitySort(STATUS_CREATED, Set.of("status"), List.of("created_at", "id"))).isTrue();
+        // thứ tự các cột equality trong request không quan trọng
+        assertThat(IndexCatalog.equalitySort(USER_STATUS_CREATED, Set.of("status", "user_id"), List.of("created_at")))
+                .isTrue();
+        // cột sort cũng là cột equality: chỉ một giá trị, không ảnh hưởng thứ tự
+        assertThat(IndexCatalog.equalitySort(STATUS_CREATED, Set.of("status"), List.of("status", "created_at")))
+                .isTrue();
+    }
+
+    @Test
+    void sortNotRightAfterEqualityPrefixNeedsFilesort() {
+        assertThat(IndexCatalog.equalitySort(STATUS_CREATED, Set.of("status"), List.of("id"))).isFalse();
+        assertThat(IndexCatalog.equalitySort(STATUS_CREATED, Set.of(), List.of("created_at"))).isFalse();
+        // thiếu user_id ở đầu index
+        assertThat(IndexCatalog.equalitySort(USER_STATUS_CREATED, Set.of("status"), List.of("created_at"))).isFalse();
+        assertThat(IndexCatalog.equalitySort(List.of("created_at"), Set.of(), List.of("created_at", "id"))).isFalse();
+    }
+
+    @Test
+    void sortOnlyNeedsLeadingSortColumns() {
+        assertThat(IndexCatalog.equalitySort(List.of("created_at", "id"), Set.of(), List.of("created_at"))).isTrue();
+        assertThat(IndexCatalog.equalitySort(List.of("created_at", "id"), Set.of(), List.of("created_at", "id")))
+                .isTrue();
+    }
+}
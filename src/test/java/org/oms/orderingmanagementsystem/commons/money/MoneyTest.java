@@ -0,0 +1,84 @@
+package org.oms.orderingmanagementsystem.commons.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void ofKeepsTwoDecimalPlaces() {
+        assertThat(Money.of(new BigDecimal("12.34")).minor()).isEqualTo(1234);
+        assertThat(Money.of(new BigDecimal("12.3")).minor()).isEqualTo(1230);
+        assertThat(Money.of(new BigDecimal("12")).minor()).isEqualTo(1200);
+        assertThat(Money.of(new BigDecimal("-0.01")).minor()).isEqualTo(-1);
+        // số 0 thừa sau 2 chữ số vẫn chính xác
+        assertThat(Money.of(new BigDecimal("1.2500")).minor()).isEqualTo(125);
+        assertThat(Money.of(null)).isNull();
+    }
+
+    @Test
+    void ofRejectsMoreThanTwoDecimalPlacesInsteadOfRounding() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.005"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.999"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void ofRejectsValuesOutsideLong() {
+        BigDecimal tooLarge = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(Money.SCALE).add(BigDecimal.ONE);
+        assertThatThrownBy(() -> Money.of(tooLarge)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toBigDecimalRoundTrips() {
+        BigDecimal value = new BigDecimal("1234567.89");
+        assertThat(Money.of(value).toBigDecimal()).isEqualTo(value);
+        assertThat(Money.ofMinor(5).toBigDecimal()).isEqualTo(new BigDecimal("0.05"));
+        assertThat(Money.ZERO.toString()).isEqualTo("0.00");
+    }
+
+    @Test
+    void plusAndTimesOverflowThrow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.times(2)).isInstanceOf(ArithmeticException.class);
+        assertThat(Money.ofMinor(150).plus(Money.ofMinor(250))).isEqualTo(Money.ofMinor(400));
+        assertThat(Money.ofMinor(150).plus(null)).isEqualTo(Money.ofMinor(150));
+        assertThat(Money.ofMinor(150).times(3)).isEqualTo(Money.ofMinor(450));
+    }
+
+    @Test
+    void sumSkipsNullsAndHandlesEmptyInput() {
+        List<Money> items = Arrays.asList(Money.ofMinor(100), null, Money.ofMinor(-30), Money.ofMinor(5));
+        assertThat(Money.sum(items, Function.identity())).isEqualTo(Money.ofMinor(75));
+        assertThat(Money.sum(List.<Money>of(), Function.identity())).isSameAs(Money.ZERO);
+        assertThat(Money.sum(null, Function.identity())).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void sumOverflowThrows() {
+        List<Money> items = List.of(Money.ofMinor(Long.MAX_VALUE), Money.ofMinor(1));
+        assertThatThrownBy(() -> Money.sum(items, Function.identity())).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void fromAcceptsConvertedColumnAndAggregateResults() {
+        assertThat(Money.from(Money.ofMinor(42))).isEqualTo(Money.ofMinor(42));
+        assertThat(Money.from(new BigDecimal("0.42"))).isEqualTo(Money.ofMinor(42));
+    }
+
+    @Test
+    void converterMapsBothWays() {
+        MoneyConverter converter = new MoneyConverter();
+        assertThat(converter.convertToDatabaseColumn(Money.ofMinor(1999))).isEqualTo(new BigDecimal("19.99"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("19.99"))).isEqualTo(Money.ofMinor(1999));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
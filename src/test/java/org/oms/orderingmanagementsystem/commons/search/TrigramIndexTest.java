@@ -0,0 +1,79 @@
+package org.oms.orderingmanagementsystem.commons.search;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    @Test
+    void findsSubstringCandidates() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "0901234567", "john@example.com");
+        index.put(2, "0987654321", "jane@example.com");
+
+        assertThat(ids(index.candidates("4567"))).containsExactly(1);
+        assertThat(ids(index.candidates("EXAMPLE"))).containsExactly(1, 2);
+        assertThat(ids(index.candidates("xyz"))).isEmpty();
+        assertThat(index.candidates("ab")).isNull();
+    }
+
+    @Test
+    void putReplacesOldValues() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "0901234567", "john@example.com");
+        int trigrams = index.trigramCount();
+
+        index.put(1, "0901234567", "johnny@mail.org");
+
+        assertThat(ids(index.candidates("example"))).isEmpty();
+        assertThat(ids(index.candidates("johnny"))).containsExactly(1);
+        assertThat(ids(index.candidates("4567"))).containsExactly(1);
+
+        // update qua lại nhiều lần không làm index phình ra
+        for (int i = 0; i < 10; i++) {
+            index.put(1, "0901234567", "user" + i + "@example.com");
+        }
+        index.put(1, "0901234567", "john@example.com");
+        assertThat(index.trigramCount()).isEqualTo(trigrams);
+    }
+
+    @Test
+    void removeDropsDocAndEmptyPostings() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "0901234567", "john@example.com");
+        index.put(2, "0987654321", "jane@example.com");
+
+        index.remove(1);
+
+        assertThat(ids(index.candidates("john"))).isEmpty();
+        assertThat(ids(index.candidates("example"))).containsExactly(2);
+
+        index.remove(2);
+        assertThat(index.trigramCount()).isZero();
+        assertThat(index.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void lowerCasesIndependentlyOfDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            TrigramIndex index = new TrigramIndex();
+            // "I".toLowerCase() theo locale tr là "ı" (không chấm)
+            index.put(1, null, "INFO@SHOP.VN");
+
+            assertThat(ids(index.candidates("info"))).containsExactly(1);
+            assertThat(ids(index.candidates("INFO"))).containsExactly(1);
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    private static int[] ids(RoaringBitmap bitmap) {
+        return bitmap.toArray();
+    }
+}
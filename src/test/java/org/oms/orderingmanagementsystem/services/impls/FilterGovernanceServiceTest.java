@@ -0,0 +1,122 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.oms.orderingmanagementsystem.commons.governance.IndexAdvisor;
+import org.oms.orderingmanagementsystem.commons.governance.IndexCatalog;
+import org.oms.orderingmanagementsystem.entities.Order;
+import org.oms.orderingmanagementsystem.entities.User;
+import org.oms.orderingmanagementsystem.securities.configs.FilterGovernanceProperties;
+import org.oms.orderingmanagementsystem.securities.exceptions.InvalidFilterException;
+import org.oms.orderingmanagementsystem.securities.exceptions.UnindexedFilterException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FilterGovernanceServiceTest {
+
+    private final IndexCatalog catalog = mock(IndexCatalog.class);
+    private final FilterGovernanceProperties properties = new FilterGovernanceProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FilterGovernanceService service;
+
+    @BeforeEach
+    void setUp() {
+        // orders: idx_order_status_created (status, created_at, id), idx_order_created_at (created_at);
+        // version không có index. users: idx_user_name (name)
+        column(Order.class, "status", "status", true);
+        column(Order.class, "createdAt", "created_at", true);
+        column(Order.class, "version", "version", false);
+        column(User.class, "name", "name", true);
+        when(catalog.supportsEqualitySort(Order.class, Set.of("status"), List.of("created_at"))).thenReturn(true);
+        when(catalog.supportsEqualitySort(Order.class, Set.of(), List.of("created_at"))).thenReturn(true);
+
+        properties.setDeny(Map.of("user", List.of("password")));
+        service = new FilterGovernanceService(catalog, new IndexAdvisor(catalog, 100), properties, meterRegistry);
+    }
+
+    @Test
+    void unindexedQueriesAreAllowedByDefault() {
+        assertThat(new FilterGovernanceProperties().getUnindexed()).isEqualTo(FilterGovernanceProperties.Mode.ALLOW);
+    }
+
+    @Test
+    void equalityFilterWithIndexedSortIsIndexed() {
+        properties.setUnindexed(FilterGovernanceProperties.Mode.REJECT);
+
+        // /api/order/v1?status=PENDING&sort=createdAt,desc -> idx_order_status_created, không filesort
+        assertThatCode(() -> service.check(Order.class,
+                Map.of("status", new String[]{"PENDING"}, "sort", new String[]{"createdAt,desc"})))
+                .doesNotThrowAnyException();
+        assertThat(count(Order.class, "indexed")).isEqualTo(1);
+    }
+
+    @Test
+    void sortOutsideTheFilterIndexIsUnindexed() {
+        properties.setUnindexed(FilterGovernanceProperties.Mode.REJECT);
+
+        // status lọc theo index nhưng không index nào đọc sẵn thứ tự version -> filesort
+        assertThatThrownBy(() -> service.check(Order.class,
+                Map.of("status", new String[]{"PENDING"}, "sort", new String[]{"version,desc"})))
+                .isInstanceOf(UnindexedFilterException.class);
+    }
+
+    @Test
+    void everySortFieldIsChecked() {
+        assertThatThrownBy(() -> service.check(User.class, Map.of("sort", new String[]{"name,password,desc"})))
+                .isInstanceOf(InvalidFilterException.class)
+                .hasMessageContaining("password");
+        assertThatThrownBy(() -> service.check(User.class,
+                Map.of("sort", new String[]{"name,asc", "password,desc"})))
+                .isInstanceOf(InvalidFilterException.class);
+    }
+
+    @Test
+    void onlyTheCallerThatRunsTheAdmissionIsCharged() {
+        properties.setUnindexed(FilterGovernanceProperties.Mode.RATE_LIMIT);
+        properties.setUnindexedPerMinute(1);
+        Map<String, String[]> params = Map.of("status", new String[]{"PENDING"}, "sort", new String[]{"version"});
+
+        // ba request giống nhau được coalesce: cả ba qua validate, chỉ leader chạy admission
+        Runnable leader = service.admit(Order.class, params);
+        service.admit(Order.class, params);
+        service.admit(Order.class, params);
+        leader.run();
+
+        assertThat(count(Order.class, "unindexed")).isEqualTo(1);
+        assertThatThrownBy(() -> service.check(Order.class, params))
+                .isInstanceOf(UnindexedFilterException.class)
+                .matches(e -> ((UnindexedFilterException) e).isThrottled());
+    }
+
+    @Test
+    void classificationIsCachedPerFilterShape() {
+        service.check(Order.class, Map.of("status", new String[]{"PENDING"}, "sort", new String[]{"createdAt,desc"}));
+        service.check(Order.class, Map.of("status", new String[]{"PAID"}, "sort", new String[]{"createdAt,asc"}));
+
+        verify(catalog, times(1)).supportsEqualitySort(Order.class, Set.of("status"), List.of("created_at"));
+        assertThat(count(Order.class, "indexed")).isEqualTo(2);
+    }
+
+    private void column(Class<?> entity, String attribute, String column, boolean indexed) {
+        when(catalog.resolve(entity, attribute)).thenReturn(Optional.of(new IndexCatalog.ResolvedColumn(
+                entity, entity.getSimpleName().toLowerCase(), column, indexed,
+                List.of(new IndexCatalog.Step(entity, attribute)))));
+    }
+
+    private double count(Class<?> entity, String result) {
+        return meterRegistry.counter("oms.filter.governance",
+                "entity", entity.getSimpleName(), "result", result).count();
+    }
+}
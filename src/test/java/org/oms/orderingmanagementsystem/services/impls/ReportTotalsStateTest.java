@@ -0,0 +1,39 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import org.junit.jupiter.api.Test;
+import org.oms.orderingmanagementsystem.commons.money.Money;
+import org.oms.orderingmanagementsystem.services.impls.ReportJobService.Totals;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Totals nằm trong report_jobs.state: job chạy tiếp sau restart phải đọc lại đúng checkpoint. */
+class ReportTotalsStateTest {
+
+    private static final TypeReference<Map<String, Totals>> STATE_TYPE = new TypeReference<>() {
+    };
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void totalsRoundTripThroughCheckpointJson() {
+        Totals electronics = new Totals(0, Money.ZERO);
+        electronics.add(2, Money.of(new BigDecimal("4500.00")));
+        electronics.add(1, Money.ofMinor(1));
+        electronics.add(1, null);
+        Map<String, Totals> state = new LinkedHashMap<>();
+        state.put("electronics", electronics);
+
+        String json = jsonMapper.writeValueAsString(state);
+        assertThat(json).isEqualTo("{\"electronics\":{\"orders\":4,\"amount\":4500.01}}");
+
+        Totals restored = jsonMapper.readValue(json, STATE_TYPE).get("electronics");
+        assertThat(restored.orders()).isEqualTo(4);
+        assertThat(restored.amount()).isEqualTo(Money.ofMinor(450001));
+    }
+}
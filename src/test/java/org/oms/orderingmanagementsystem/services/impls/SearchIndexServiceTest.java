@@ -0,0 +1,110 @@
+package org.oms.orderingmanagementsystem.services.impls;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oms.orderingmanagementsystem.commons.events.EntityChangedEvent;
+import org.oms.orderingmanagementsystem.entities.Product;
+import org.oms.orderingmanagementsystem.repositories.ProductRepository;
+import org.oms.orderingmanagementsystem.repositories.UserRepository;
+import org.oms.orderingmanagementsystem.repositories.views.ProductSearchView;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchIndexServiceTest {
+
+    @TempDir
+    Path indexPath;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private SearchIndexService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new SearchIndexService(productRepository, userRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "indexPath", indexPath.toString());
+        ReflectionTestUtils.setField(service, "maxHits", 100);
+        service.open();
+        when(userRepository.streamSearchViews()).thenReturn(Stream.empty());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Test
+    void liveUpdateDuringRebuildIsNotOverwrittenByStreamedRow() {
+        // snapshot của stream đọc trước khi "Laptop" được đổi tên và commit
+        when(productRepository.streamSearchViews()).thenAnswer(invocation -> Stream.of(1L, 2L)
+                .map(id -> {
+                    if (id == 1L) service.onEntityChanged(changed(product(1L, "Notebook")));
+                    return view(id, id == 1L ? "Laptop" : "Mouse");
+                }));
+
+        service.rebuild();
+
+        assertThat(service.searchProductIds("notebook")).isEqualTo(Optional.of(Set.of(1L)));
+        assertThat(service.searchProductIds("laptop")).isEqualTo(Optional.of(Set.of()));
+        assertThat(service.searchProductIds("mouse")).isEqualTo(Optional.of(Set.of(2L)));
+    }
+
+    @Test
+    void liveDeleteDuringRebuildStaysDeleted() {
+        when(productRepository.streamSearchViews()).thenAnswer(invocation -> Stream.of(1L)
+                .map(id -> {
+                    service.onEntityChanged(deleted(product(1L, "Laptop")));
+                    return view(id, "Laptop");
+                }));
+
+        service.rebuild();
+
+        assertThat(service.searchProductIds("laptop")).isEqualTo(Optional.of(Set.of()));
+        assertThat(service.docCount()).isZero();
+    }
+
+    @Test
+    void changesAfterRebuildAreNotReplayedAgain() {
+        when(productRepository.streamSearchViews()).thenAnswer(invocation -> Stream.of(view(1L, "Laptop")));
+        service.rebuild();
+
+        service.indexProduct(product(1L, "Notebook"));
+        service.refresh();
+
+        assertThat(service.searchProductIds("notebook")).isEqualTo(Optional.of(Set.of(1L)));
+        assertThat(service.searchProductIds("laptop")).isEqualTo(Optional.of(Set.of()));
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+
+    private static ProductSearchView view(Long id, String name) {
+        ProductSearchView view = mock(ProductSearchView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        return view;
+    }
+
+    private static EntityChangedEvent changed(Object entity) {
+        return new EntityChangedEvent(entity, EntityChangedEvent.Action.UPSERT);
+    }
+
+    private static EntityChangedEvent deleted(Object entity) {
+        return new EntityChangedEvent(entity, EntityChangedEvent.Action.DELETE);
+    }
+}